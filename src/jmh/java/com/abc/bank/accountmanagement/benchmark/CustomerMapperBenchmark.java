@@ -0,0 +1,78 @@
+package com.abc.bank.accountmanagement.benchmark;
+
+import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
+import com.abc.bank.accountmanagement.mapper.CustomerMapper;
+import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.util.IbanUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    @Param({"100", "1000"})
+    int pageSize;
+
+    private CustomerRegistrationRequestDTO request;
+    private Customer customer;
+    private List<Customer> page;
+
+    @Setup
+    public void setUp() {
+        request = CustomerRegistrationRequestDTO.builder()
+                .name("John Doe")
+                .address("123 Main St")
+                .dateOfBirth("1990-01-01")
+                .idDocumentNumber("123456789")
+                .username("johndoe")
+                .build();
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(Customer.builder()
+                    .id((long) i)
+                    .name("John Doe")
+                    .address("123 Main St")
+                    .dateOfBirth("1990-01-01")
+                    .idDocument("123456789")
+                    .username("johndoe" + i)
+                    .password("$2a$10$abcdefghijklmnopqrstuv")
+                    .iban(IbanUtil.toIban(1_000_000_000L + i))
+                    .build());
+        }
+        customer = page.get(0);
+    }
+
+    @Benchmark
+    public Customer toCustomer() {
+        return CustomerMapper.INSTANCE.toCustomer(request);
+    }
+
+    @Benchmark
+    public CustomerOverviewResponseDTO toOverview() {
+        return CustomerMapper.INSTANCE.customerToCustomerOverviewResponseDTO(customer);
+    }
+
+    @Benchmark
+    public List<CustomerOverviewResponseDTO> toOverviewPage() {
+        return CustomerMapper.INSTANCE.customersToCustomerOverviewResponseDTOs(page);
+    }
+}
@@ -0,0 +1,34 @@
+package com.abc.bank.accountmanagement.benchmark;
+
+import com.abc.bank.accountmanagement.validation.DateOfBirthValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateOfBirthValidatorBenchmark {
+
+    @Param({"1990-01-01", "1990-02-30", "not-a-date"})
+    String dateOfBirth;
+
+    private final DateOfBirthValidator validator = new DateOfBirthValidator();
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(dateOfBirth, null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.abc.bank.accountmanagement.benchmark;
+
+import com.abc.bank.accountmanagement.util.IbanUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IbanUtilBenchmark {
+
+    private long accountNumber = 1_000_000_000L;
+    private final String iban = IbanUtil.toIban(1_234_567_890L);
+
+    @Benchmark
+    public String toIban() {
+        // A different number each call keeps the JIT from folding the check-digit computation.
+        accountNumber = accountNumber == IbanUtil.MAX_ACCOUNT_NUMBER ? 1_000_000_000L : accountNumber + 1;
+        return IbanUtil.toIban(accountNumber);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return IbanUtil.isValid(iban);
+    }
+}
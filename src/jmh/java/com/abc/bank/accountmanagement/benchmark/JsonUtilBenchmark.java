@@ -0,0 +1,48 @@
+package com.abc.bank.accountmanagement.benchmark;
+
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
+import com.abc.bank.accountmanagement.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JsonUtil#asJsonString} with its shared {@link ObjectMapper}, against building a mapper per call as it used
+ * to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonUtilBenchmark {
+
+    private final CustomerRegistrationRequestDTO request = CustomerRegistrationRequestDTO.builder()
+            .name("John Doe")
+            .address("123 Main St")
+            .dateOfBirth("1990-01-01")
+            .idDocumentNumber("123456789")
+            .username("johndoe")
+            .build();
+
+    @Benchmark
+    public String sharedMapper() {
+        return JsonUtil.asJsonString(request);
+    }
+
+    @Benchmark
+    public String mapperPerCall() throws JsonProcessingException {
+        return new ObjectMapper().writeValueAsString(request);
+    }
+}
@@ -0,0 +1,91 @@
+package com.abc.bank.accountmanagement.benchmark;
+
+import com.abc.bank.accountmanagement.security.TokenService;
+import com.abc.bank.accountmanagement.service.LocalRateLimitBackend;
+import com.abc.bank.accountmanagement.service.RateLimitKeyResolver;
+import com.abc.bank.accountmanagement.service.RateLimiterService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import jakarta.servlet.http.Cookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission decisions on the local backend with 1, 8 and 64 threads. Every thread is its own client, so the numbers
+ * show contention inside the limiter rather than on one bucket. Each request carries Basic credentials, a session
+ * token cookie and an API key, so it is classified as authentication, its token is verified, and it is charged
+ * against three keys. The capacity is high enough that requests are admitted, which is the common path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+        RateLimiterService rateLimiterService;
+        TokenService tokenService;
+        final AtomicInteger clients = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            tokenService = new TokenService("", Duration.ofMinutes(5));
+            rateLimiterService = new RateLimiterService(new RateLimitKeyResolver(tokenService),
+                    new LocalRateLimitBackend(Duration.ofSeconds(1), 100_000, Duration.ofMinutes(10)),
+                    new SimpleMeterRegistry(), 1_000_000_000L, 0.5, 0.3, 0.2, 0.5);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        MockHttpServletRequest request;
+
+        @Setup
+        public void setUp(Limiter limiter) {
+            int client = limiter.clients.incrementAndGet();
+            String credentials = "client" + client + ":password";
+            request = new MockHttpServletRequest("GET", "/api/overview");
+            request.setRemoteAddr("10.0.0." + client);
+            request.addHeader(HttpHeaders.AUTHORIZATION,
+                    "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+            request.setCookies(new Cookie(TokenService.TOKEN_COOKIE, limiter.tokenService.generateToken(client)));
+            request.addHeader(RateLimitKeyResolver.API_KEY_HEADER, "benchmark-key-" + client);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean oneThread(Limiter limiter, Client client) {
+        return limiter.rateLimiterService.tryConsume(client.request);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean eightThreads(Limiter limiter, Client client) {
+        return limiter.rateLimiterService.tryConsume(client.request);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean sixtyFourThreads(Limiter limiter, Client client) {
+        return limiter.rateLimiterService.tryConsume(client.request);
+    }
+}
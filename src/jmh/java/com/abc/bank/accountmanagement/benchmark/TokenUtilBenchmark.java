@@ -0,0 +1,50 @@
+package com.abc.bank.accountmanagement.benchmark;
+
+import com.abc.bank.accountmanagement.util.TokenUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenUtilBenchmark {
+
+    private static final long EXPIRES_AT = 4_102_444_800L;
+
+    private final byte[] scratch = new byte[80];
+    private Mac mac;
+    private String token;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(new byte[32], "HmacSHA256"));
+        token = TokenUtil.generateToken(42L, EXPIRES_AT, mac);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return TokenUtil.generateToken(42L, EXPIRES_AT, mac);
+    }
+
+    @Benchmark
+    public long verifyToken() {
+        return TokenUtil.verifyToken(token, EXPIRES_AT - 60, mac, scratch);
+    }
+}
@@ -2,10 +2,8 @@ package com.abc.bank.accountmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
 
 @SpringBootApplication
-@ComponentScan(basePackages = "com.abc.bank.accountmanagement")
 public class AccountManagementApplication {
 
 	public static void main(String[] args) {
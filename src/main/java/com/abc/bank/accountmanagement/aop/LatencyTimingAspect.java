@@ -0,0 +1,85 @@
+package com.abc.bank.accountmanagement.aop;
+
+import com.abc.bank.accountmanagement.util.LatencyTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of every controller endpoint, {@code CustomerServiceImpl} method, {@code DatabaseServiceImpl}
+ * method and repository call as {@code layer.latency}, tagged with the layer, class and method. Timers are looked up
+ * once per method and cached, so a call costs a map lookup, two {@link System#nanoTime()} reads and one histogram
+ * update. Without a {@link MeterRegistry} in the context (test slices) the timers go to a private registry.
+ */
+@Aspect
+@Component
+public class LatencyTimingAspect {
+    static final String TIMER_NAME = "layer.latency";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LatencyTimingAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    LatencyTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.abc.bank.accountmanagement.controller.CustomerController.*(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller");
+    }
+
+    @Around("execution(public * com.abc.bank.accountmanagement.service.CustomerServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("execution(public * com.abc.bank.accountmanagement.service.DatabaseServiceImpl.*(..))")
+    public Object timeDatabaseService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "database");
+    }
+
+    @Around("execution(* com.abc.bank.accountmanagement.repository..*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "repository");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        Timer timer = timer(((MethodSignature) joinPoint.getSignature()).getMethod(), layer);
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    Timer timer(Method method, String layer) {
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, key -> LatencyTimers.builder(TIMER_NAME)
+                    .description("Latency per layer and operation")
+                    .tag("layer", layer)
+                    .tag("class", key.getDeclaringClass().getSimpleName())
+                    .tag("method", key.getName())
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+}
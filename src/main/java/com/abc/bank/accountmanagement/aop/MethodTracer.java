@@ -0,0 +1,168 @@
+package com.abc.bank.accountmanagement.aop;
+
+import com.abc.bank.accountmanagement.config.TraceIdFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampled method tracing for controllers, services and repositories. The bean only exists with
+ * {@code tracing.enabled=true}, so a disabled tracer creates no proxies and costs nothing. When enabled, the outermost
+ * traced call on a thread decides once whether to sample the request ({@code tracing.sample-rate}); unsampled
+ * requests only pay for a thread-local lookup per call. Sampled calls are timed with {@link System#nanoTime()} into a
+ * per-thread {@link TraceBuffer}, which a background thread writes to the log together with the trace id.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true")
+public class MethodTracer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodTracer.class);
+
+    private final double sampleRate;
+    private final int bufferSize;
+    private final ThreadLocal<ThreadState> threadStates = ThreadLocal.withInitial(ThreadState::new);
+    private final BlockingQueue<TraceBuffer> completed;
+    private final Queue<TraceBuffer> free = new ConcurrentLinkedQueue<>();
+    private final Counter droppedTraces;
+    private volatile Thread flusher;
+
+    public MethodTracer(MeterRegistry meterRegistry,
+                        @Value("${tracing.sample-rate:0.01}") double sampleRate,
+                        @Value("${tracing.buffer-size:256}") int bufferSize,
+                        @Value("${tracing.queue-capacity:1024}") int queueCapacity) {
+        this.sampleRate = sampleRate;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.completed = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.droppedTraces = Counter.builder("tracing.dropped")
+                .description("Sampled traces discarded because the flush queue was full")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(* com.abc.bank.accountmanagement.controller..*(..)) || execution(* com.abc.bank.accountmanagement.service..*(..)) || execution(* com.abc.bank.accountmanagement.repository..*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        ThreadState state = threadStates.get();
+        if (state.depth == 0) {
+            state.buffer = sample() ? begin() : null;
+        }
+        TraceBuffer buffer = state.buffer;
+        state.depth++;
+        if (buffer == null) {
+            try {
+                return joinPoint.proceed();
+            } finally {
+                state.depth--;
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long end = System.nanoTime();
+            int depth = --state.depth;
+            buffer.record(((MethodSignature) joinPoint.getSignature()).getMethod(), depth, start, end, failed);
+            if (depth == 0) {
+                state.buffer = null;
+                complete(buffer);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (flusher != null) {
+            return;
+        }
+        flusher = new Thread(this::flushLoop, "method-trace-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher = null;
+        }
+        TraceBuffer buffer;
+        while ((buffer = completed.poll()) != null) {
+            flush(buffer);
+        }
+    }
+
+    TraceBuffer pollCompleted() {
+        return completed.poll();
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private TraceBuffer begin() {
+        TraceBuffer buffer = free.poll();
+        if (buffer == null) {
+            buffer = new TraceBuffer(bufferSize);
+        }
+        buffer.begin(MDC.get(TraceIdFilter.TRACE_ID_HEADER));
+        return buffer;
+    }
+
+    private void complete(TraceBuffer buffer) {
+        if (!completed.offer(buffer)) {
+            droppedTraces.increment();
+            free.offer(buffer);
+        }
+    }
+
+    private void flushLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                flush(completed.take());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(TraceBuffer buffer) {
+        String traceId = buffer.traceId();
+        if (traceId != null) {
+            MDC.put(TraceIdFilter.TRACE_ID_HEADER, traceId);
+        }
+        try {
+            buffer.log(logger);
+        } catch (RuntimeException exception) {
+            logger.warn("Could not write trace {}", traceId, exception);
+        } finally {
+            MDC.remove(TraceIdFilter.TRACE_ID_HEADER);
+            free.offer(buffer);
+        }
+    }
+
+    private static final class ThreadState {
+        private int depth;
+        private TraceBuffer buffer;
+    }
+}
@@ -0,0 +1,78 @@
+package com.abc.bank.accountmanagement.aop;
+
+import org.slf4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Fixed-size ring of completed calls for one sampled request. Recording writes into preallocated arrays; once the
+ * request records more calls than fit, the oldest are overwritten and counted as dropped. Buffers are reused after
+ * they have been flushed, so steady-state tracing does not allocate on the request thread.
+ */
+final class TraceBuffer {
+    private final Method[] methods;
+    private final int[] depths;
+    private final long[] starts;
+    private final long[] ends;
+    private final boolean[] failures;
+    private String traceId;
+    private long recorded;
+
+    TraceBuffer(int capacity) {
+        this.methods = new Method[capacity];
+        this.depths = new int[capacity];
+        this.starts = new long[capacity];
+        this.ends = new long[capacity];
+        this.failures = new boolean[capacity];
+    }
+
+    void begin(String traceId) {
+        this.traceId = traceId;
+        this.recorded = 0;
+    }
+
+    void record(Method method, int depth, long startNanos, long endNanos, boolean failed) {
+        int slot = (int) (recorded++ % methods.length);
+        methods[slot] = method;
+        depths[slot] = depth;
+        starts[slot] = startNanos;
+        ends[slot] = endNanos;
+        failures[slot] = failed;
+    }
+
+    int size() {
+        return (int) Math.min(recorded, methods.length);
+    }
+
+    long dropped() {
+        return recorded - size();
+    }
+
+    String traceId() {
+        return traceId;
+    }
+
+    /**
+     * Writes one line per call in call order, with start offsets relative to the first retained call.
+     */
+    void log(Logger logger) {
+        int size = size();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(slot -> starts[slot]));
+
+        long origin = size == 0 ? 0 : starts[order[0]];
+        logger.info("trace calls={} droppedCalls={}", size, dropped());
+        for (Integer slot : order) {
+            Method method = methods[slot];
+            logger.info("trace depth={} method={}.{} startNanos={} durationNanos={} failed={}",
+                    depths[slot], method.getDeclaringClass().getSimpleName(), method.getName(),
+                    starts[slot] - origin, ends[slot] - starts[slot], failures[slot]);
+        }
+        Arrays.fill(methods, null);
+    }
+}
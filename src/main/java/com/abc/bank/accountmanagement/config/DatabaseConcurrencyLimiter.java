@@ -0,0 +1,93 @@
+package com.abc.bank.accountmanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds how many callers may queue for a database connection. Hikari already limits the connections in use and
+ * makes the rest wait up to {@code spring.datasource.hikari.connection-timeout}. However, it lets any number of callers
+ * wait. With virtual threads there is no thread pool in front of it any more, so a burst would park thousands of
+ * requests inside Hikari, each holding a stack and a transaction context, and all of them would time out together.
+ * Once {@code database.limiter.max-waiting} callers are already inside {@code getConnection()}, the next one gets
+ * an {@link SQLTransientConnectionException} straight away, answered with 503. The waiting itself is still Hikari's.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class DatabaseConcurrencyLimiter implements BeanPostProcessor, MeterBinder {
+
+    private final int maxWaiting;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private Counter rejected;
+
+    public DatabaseConcurrencyLimiter(@Value("${database.limiter.max-waiting:200}") int maxWaiting) {
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof LimitedDataSource)) {
+            return new LimitedDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("database.limiter.waiting", waiting, AtomicInteger::get)
+                .description("Callers waiting for a database connection")
+                .register(meterRegistry);
+        rejected = Counter.builder("database.limiter.rejected")
+                .description("Callers turned away because too many were already waiting")
+                .register(meterRegistry);
+    }
+
+    private Connection acquire(ConnectionSupplier supplier) throws SQLException {
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new SQLTransientConnectionException("Too many callers are already waiting for a database connection");
+        }
+        try {
+            return supplier.get();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private final class LimitedDataSource extends DelegatingDataSource {
+
+        LimitedDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return acquire(() -> obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return acquire(() -> obtainTargetDataSource().getConnection(username, password));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.abc.bank.accountmanagement.config;
+
+import com.abc.bank.accountmanagement.service.RateLimiterService;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Admission control for the API. Runs right after {@link TraceIdFilter} and ahead of Spring Security, so an
+ * over-limit request is turned away before its body is read, deserialized, validated or any password is hashed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String RATE_LIMITED_PATH_PREFIX = "/api/";
+
+    private static final String MESSAGE = "Too many requests - please try again later";
+    private static final byte[] BODY_PREFIX = "{\"traceId\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_SUFFIX = ("\",\"status\":429,\"message\":\"" + MESSAGE + "\"}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_WITHOUT_TRACE_ID = ("{\"status\":429,\"message\":\"" + MESSAGE + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiterService rateLimiterService;
+
+    public RateLimitFilter(RateLimiterService rateLimiterService) {
+        this.rateLimiterService = rateLimiterService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(RATE_LIMITED_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (rateLimiterService.tryConsume(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        writeTooManyRequests(response);
+    }
+
+    // Same ErrorResponse JSON as GlobalExceptionHandler writes for other errors, built from precomputed bytes.
+    private static void writeTooManyRequests(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        String traceId = MDC.get(TraceIdFilter.TRACE_ID_HEADER);
+        ServletOutputStream out = response.getOutputStream();
+        if (traceId == null) {
+            response.setContentLength(BODY_WITHOUT_TRACE_ID.length);
+            out.write(BODY_WITHOUT_TRACE_ID);
+            return;
+        }
+        byte[] escapedTraceId = JsonStringEncoder.getInstance().quoteAsUTF8(traceId);
+        response.setContentLength(BODY_PREFIX.length + escapedTraceId.length + BODY_SUFFIX.length);
+        out.write(BODY_PREFIX);
+        out.write(escapedTraceId);
+        out.write(BODY_SUFFIX);
+    }
+}
@@ -0,0 +1,127 @@
+package com.abc.bank.accountmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounded pools for asynchronous registration: {@link #cpu()} for password hashing and mapping, {@link #io()} for
+ * database writes. Both reject work as soon as their queue is full ({@code TaskRejectedException}), which is reported
+ * as 503 instead of letting requests pile up.
+ * <p>
+ * With {@code spring.threads.virtual.enabled} the I/O work runs on a virtual thread per task, admitted up to the same
+ * threads-plus-queue limit; hashing stays on platform threads because it is CPU bound.
+ * <p>
+ * Tasks inherit the submitting thread's MDC through the {@link TaskDecorator}, so log lines of asynchronous
+ * registrations carry the request's trace id.
+ * <p>
+ * Kept out of the context as plain {@code Executor} beans so Spring Boot's default task executor stays in place.
+ */
+@Component
+public class RegistrationExecutors {
+    private final ThreadPoolTaskExecutor cpu;
+    private final ThreadPoolTaskExecutor io;
+    private final Executor virtualIo;
+
+    @Autowired
+    public RegistrationExecutors(ObjectProvider<MeterRegistry> meterRegistry,
+                                 TaskDecorator taskDecorator,
+                                 @Value("${registration.async.cpu.threads:4}") int cpuThreads,
+                                 @Value("${registration.async.cpu.queue-capacity:100}") int cpuQueueCapacity,
+                                 @Value("${registration.async.io.threads:10}") int ioThreads,
+                                 @Value("${registration.async.io.queue-capacity:200}") int ioQueueCapacity,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), taskDecorator,
+                cpuThreads, cpuQueueCapacity, ioThreads, ioQueueCapacity, virtualThreads);
+    }
+
+    RegistrationExecutors(MeterRegistry meterRegistry, TaskDecorator taskDecorator, int cpuThreads,
+                          int cpuQueueCapacity, int ioThreads, int ioQueueCapacity, boolean virtualThreads) {
+        this.cpu = newExecutor("registration-cpu-", cpuThreads, cpuQueueCapacity, taskDecorator);
+        new ExecutorServiceMetrics(cpu.getThreadPoolExecutor(), "registration.cpu", List.of()).bindTo(meterRegistry);
+        if (virtualThreads) {
+            this.io = null;
+            this.virtualIo = new BoundedVirtualThreadExecutor("registration-io-", ioThreads + ioQueueCapacity, taskDecorator);
+        } else {
+            this.io = newExecutor("registration-io-", ioThreads, ioQueueCapacity, taskDecorator);
+            this.virtualIo = null;
+            new ExecutorServiceMetrics(io.getThreadPoolExecutor(), "registration.io", List.of()).bindTo(meterRegistry);
+        }
+    }
+
+    public Executor cpu() {
+        return cpu;
+    }
+
+    public Executor io() {
+        return io != null ? io : virtualIo;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cpu.shutdown();
+        if (io != null) {
+            io.shutdown();
+        }
+    }
+
+    private static ThreadPoolTaskExecutor newExecutor(String threadNamePrefix, int threads, int queueCapacity, TaskDecorator taskDecorator) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setTaskDecorator(taskDecorator);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Starts a virtual thread per task but, like the bounded pool it replaces, rejects work beyond {@code limit}
+     * tasks in flight instead of queueing it without bound.
+     */
+    static final class BoundedVirtualThreadExecutor implements Executor {
+        private final SimpleAsyncTaskExecutor delegate;
+        private final Semaphore inFlight;
+
+        BoundedVirtualThreadExecutor(String threadNamePrefix, int limit, TaskDecorator taskDecorator) {
+            this.delegate = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            this.delegate.setVirtualThreads(true);
+            this.delegate.setTaskDecorator(taskDecorator);
+            this.inFlight = new Semaphore(limit);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (!inFlight.tryAcquire()) {
+                throw new TaskRejectedException("Registration I/O limit reached");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RuntimeException exception) {
+                inFlight.release();
+                throw exception;
+            }
+        }
+    }
+}
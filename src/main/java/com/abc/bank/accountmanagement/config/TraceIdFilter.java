@@ -1,44 +1,72 @@
 package com.abc.bank.accountmanagement.config;
 
-import jakarta.servlet.*;
+import com.abc.bank.accountmanagement.util.TraceIdGenerator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
+/**
+ * Puts the request's trace id into the MDC and echoes it in the {@code Trace-Id} and {@code traceparent} response
+ * headers. The id is taken from a {@code Trace-Id} header, then from a W3C {@code traceparent} header, and is
+ * generated otherwise. A {@code Trace-Id} header that is not {@link TraceIdGenerator#isAcceptableTraceId acceptable}
+ * is ignored, so callers cannot inject text into logs or response headers. It is kept as a request attribute so that
+ * async and error dispatches, which run after the original thread has cleared its MDC, log and report the same id.
+ */
 @Component
-public class TraceIdFilter implements Filter {
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceIdFilter extends OncePerRequestFilter {
     public static final String TRACE_ID_HEADER = "Trace-Id";
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private static final String TRACE_ID_ATTRIBUTE = TraceIdFilter.class.getName() + ".traceId";
 
     @Override
-    public void init(FilterConfig filterConfig) throws ServletException {
-        Filter.super.init(filterConfig);
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
     }
 
     @Override
-    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
-        HttpServletRequest request = (HttpServletRequest) servletRequest;
-        String traceId = request.getHeader(TRACE_ID_HEADER);
-        if (traceId == null || traceId.isEmpty()) {
-            traceId = UUID.randomUUID().toString();
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String traceId = (String) request.getAttribute(TRACE_ID_ATTRIBUTE);
+        if (traceId == null) {
+            traceId = resolveTraceId(request);
+            request.setAttribute(TRACE_ID_ATTRIBUTE, traceId);
+            response.setHeader(TRACE_ID_HEADER, traceId);
+            if (TraceIdGenerator.isTraceId(traceId)) {
+                response.setHeader(TRACEPARENT_HEADER, TraceIdGenerator.traceparent(traceId, TraceIdGenerator.newSpanId()));
+            }
         }
         MDC.put(TRACE_ID_HEADER, traceId);
         try {
-            filterChain.doFilter(servletRequest, servletResponse);
+            filterChain.doFilter(request, response);
         } finally {
             clearMDC();
         }
     }
 
-    @Override
-    public void destroy() {
-        Filter.super.destroy();
-    }
-
     void clearMDC() {
         MDC.remove(TRACE_ID_HEADER);
     }
+
+    private static String resolveTraceId(HttpServletRequest request) {
+        String traceId = request.getHeader(TRACE_ID_HEADER);
+        if (TraceIdGenerator.isAcceptableTraceId(traceId)) {
+            return traceId;
+        }
+        traceId = TraceIdGenerator.traceIdFromTraceparent(request.getHeader(TRACEPARENT_HEADER));
+        return traceId != null ? traceId : TraceIdGenerator.newTraceId();
+    }
 }
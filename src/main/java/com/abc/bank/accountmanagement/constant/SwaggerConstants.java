@@ -43,6 +43,14 @@ public class SwaggerConstants {
                 }
             """;
 
+    public static final String SERVICE_BUSY_RESPONSE = """
+                {
+                    "traceId": "123e4567-e89b-12d3-a456-426614174000",
+                    "status": 503,
+                    "message": "Service is busy - please try again later"
+                }
+            """;
+
     public static final String LOGIN_INVALID_INPUT_RESPONSE = """
                 {
                     "traceId": "123e4567-e89b-12d3-a456-426614174000",
@@ -69,28 +77,72 @@ public class SwaggerConstants {
                 }
             """;
     public static final String CHECK_USERS_RESPONSE = """
-               [
-                   {
-                       "id": 1,
-                       "name": "John Doe",
-                       "address": "123 Main St",
-                       "dateOfBirth": "1990-01-01",
-                       "idDocument": "123456789",
-                       "username": "johndoe",
-                       "iban": "NL91ABNA0417164300",
-                       "password": "******"
-                   },
-                   {
-                       "id": 3,
-                       "name": "John Doe",
-                       "address": "123 Main St",
-                       "dateOfBirth": null,
-                       "idDocument": "123456789",
-                       "username": "johndoe1",
-                       "iban": "NL28ABNA0164312201",
-                       "password": "******"
-                   }
-               ]
+               {
+                   "customers": [
+                       {
+                           "id": 1,
+                           "name": "John Doe",
+                           "address": "123 Main St",
+                           "dateOfBirth": "1990-01-01",
+                           "idDocument": "123456789",
+                           "username": "johndoe",
+                           "iban": "NL91ABNA0417164300",
+                           "password": "******"
+                       },
+                       {
+                           "id": 3,
+                           "name": "John Doe",
+                           "address": "123 Main St",
+                           "dateOfBirth": null,
+                           "idDocument": "123456789",
+                           "username": "johndoe1",
+                           "iban": "NL28ABNA0164312201",
+                           "password": "******"
+                       }
+                   ],
+                   "nextCursor": 3
+               }
+            """;
+
+    public static final String BATCH_REGISTER_RESPONSE = """
+               {
+                   "registered": 1,
+                   "failed": 2,
+                   "results": [
+                       {
+                           "index": 0,
+                           "status": 200,
+                           "customer": {
+                               "username": "johndoe",
+                               "password": "Xy7#kq2LmP",
+                               "iban": "NL91ABNA0417164300"
+                           }
+                       },
+                       {
+                           "index": 1,
+                           "status": 409,
+                           "message": "Username already exists"
+                       },
+                       {
+                           "index": 2,
+                           "status": 400,
+                           "message": "Validation failed",
+                           "errors": [
+                               {
+                                   "field": "address",
+                                   "message": "Address is mandatory"
+                               }
+                           ]
+                       }
+                   ]
+               }
             """;
-}
 
+    public static final String BATCH_SIZE_INVALID_RESPONSE = """
+                {
+                    "traceId": "123e4567-e89b-12d3-a456-426614174000",
+                    "status": 400,
+                    "message": "A batch must contain between 1 and 1000 customers"
+                }
+            """;
+}
@@ -1,13 +1,19 @@
 package com.abc.bank.accountmanagement.controller;
 
+import com.abc.bank.accountmanagement.dto.CustomerBatchRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerOverviewPageResponseDTO;
 import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationResponseDTO;
 import com.abc.bank.accountmanagement.dto.LoginRequestDTO;
+import com.abc.bank.accountmanagement.dto.UsernameAvailabilityResponseDTO;
 import com.abc.bank.accountmanagement.exception.AuthenticationException;
 import com.abc.bank.accountmanagement.exception.ErrorResponse;
+import com.abc.bank.accountmanagement.security.CustomerUserDetails;
+import com.abc.bank.accountmanagement.security.TokenService;
 import com.abc.bank.accountmanagement.service.CustomerService;
-import com.abc.bank.accountmanagement.util.TokenUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.headers.Header;
@@ -21,13 +27,21 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 
 import static com.abc.bank.accountmanagement.constant.SwaggerConstants.*;
 
@@ -40,6 +54,8 @@ public class CustomerController {
 
     private final CustomerService customerService;
     private final AuthenticationManager authenticationManager;
+    private final ObjectMapper objectMapper;
+    private final TokenService tokenService;
 
     @Operation(summary = "Register a new customer", description = "Registers a customer with provided details and returns the username and random password upon success.")
     @ApiResponses(value = {
@@ -54,36 +70,118 @@ public class CustomerController {
         return ResponseEntity.ok(registeredCustomer);
     }
 
+    @Operation(summary = "Register a new customer asynchronously", description = "Same contract as /api/register, but hashing and persistence run on bounded worker pools so the servlet thread is released immediately. Returns 503 when those pools are saturated.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customer registered successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerRegistrationResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = REGISTER_INVALID_INPUT_RESPONSE))),
+            @ApiResponse(responseCode = "409", description = "Username already exists", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = USERNAME_EXISTS_RESPONSE))),
+            @ApiResponse(responseCode = "503", description = "Registration pools are saturated", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = SERVICE_BUSY_RESPONSE)))
+    })
+    @PostMapping("/register/async")
+    public CompletableFuture<ResponseEntity<CustomerRegistrationResponseDTO>> registerAsync(@Valid @RequestBody CustomerRegistrationRequestDTO customerRegistrationRequestDTO) {
+        return customerService.registerAsync(customerRegistrationRequestDTO).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Register customers in bulk", description = "Registers up to registration.batch.max-customers customers in one call. Every customer is validated and saved on its own, and the response reports the outcome per customer in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see the per-customer results",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerBatchRegistrationResponseDTO.class), examples = @ExampleObject(value = BATCH_REGISTER_RESPONSE))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = BATCH_SIZE_INVALID_RESPONSE))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = UNAUTHORIZED_RESPONSE)))
+    })
+    @PostMapping("/register/batch")
+    public ResponseEntity<?> registerBatch(@RequestBody List<CustomerRegistrationRequestDTO> customerRegistrationRequestDTOs) {
+        return ResponseEntity.ok(customerService.registerBatch(customerRegistrationRequestDTOs));
+    }
+
+    @Operation(summary = "Check username availability", description = "Tells whether a username is still free. Most free names are answered from an in-memory filter without a database query. The answer is advisory: registration can still fail with 409 if somebody takes the name first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request successful",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UsernameAvailabilityResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Username is missing", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/register/available")
+    public ResponseEntity<UsernameAvailabilityResponseDTO> checkUsernameAvailability(@Parameter(description = "Username to check", example = "johndoe")
+                                                                                     @RequestParam(value = "username", required = false) String username) {
+        return ResponseEntity.ok(customerService.checkUsernameAvailability(username));
+    }
+
     @PostMapping("/logon")
     @Operation(summary = "User login", description = "Allows a user to log in with username and password")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful", content = @Content,
-                    headers = @Header(name = "Set-Cookie", description = "Contains the token for authenticated user",
-                            schema = @Schema(type = "string", example = "token=eyJhbGciOiJIUzI1NiIsInR5cCI..."))),
+                    headers = @Header(name = "Set-Cookie", description = "Contains the signed session token for the authenticated user; it can also be sent as a Bearer Authorization header",
+                            schema = @Schema(type = "string", example = "token=AAAAAAAAAAEAAAAAZvQ2YJ1Xq7b0yR5cZ2mD8sV9kTq1Lr3nHf6pWx4eGu0aIc7o; Max-Age=1800; Path=/; HttpOnly"))),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = LOGIN_INVALID_INPUT_RESPONSE))),
             @ApiResponse(responseCode = "401", description = "Invalid username or password", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = INVALID_CREDENTIALS_RESPONSE)))
     })
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDTO loginRequestDTO, HttpServletResponse response) {
         try {
-            authenticationManager.authenticate(
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()));
-            // Generate a token for the authenticated user and put into Cookie to use for login - HTTP Basic Authentication
-            response.addCookie(new Cookie("token", TokenUtil.generateToken(loginRequestDTO.getUsername(), loginRequestDTO.getPassword())));
+            // Issue a signed session token so later requests are authenticated without HTTP Basic, BCrypt or a DB lookup
+            CustomerUserDetails customer = (CustomerUserDetails) authentication.getPrincipal();
+            Cookie cookie = new Cookie(TokenService.TOKEN_COOKIE, tokenService.generateToken(customer.getCustomerId()));
+            cookie.setHttpOnly(true);
+            cookie.setPath("/");
+            cookie.setMaxAge((int) tokenService.getTtl().getSeconds());
+            response.addCookie(cookie);
             return ResponseEntity.ok("Login successful");
         } catch (Exception exception) {
             throw new AuthenticationException("Invalid username or password");
         }
     }
 
-    @Operation(summary = "Get all users", description = "Retrieves a list of all users")
+    @Operation(summary = "Get users", description = "Retrieves a page of users ordered by id. Pass the returned nextCursor as 'after' to fetch the following page.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Request successful", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerOverviewResponseDTO[].class), examples = @ExampleObject(value = CHECK_USERS_RESPONSE))),
+            @ApiResponse(responseCode = "200", description = "Request successful", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerOverviewPageResponseDTO.class), examples = @ExampleObject(value = CHECK_USERS_RESPONSE))),
             @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = "{ \"message\": \"Unauthorized access\" }")))
     })
     @GetMapping(path = "/overview")
-    public ResponseEntity<?> checkUsers(@Parameter(description = "Authentication token", required = true, example = "Basic dXNlcm5hbWU6cGFzc3dvcmQ=")
-                                        @RequestHeader("Authorization") String authorizationHeader) {
-        return new ResponseEntity<>(customerService.getAll(), HttpStatus.OK);
+    public ResponseEntity<?> checkUsers(@Parameter(description = "HTTP Basic credentials or Bearer session token; may be omitted when the token cookie is sent", example = "Basic dXNlcm5hbWU6cGFzc3dvcmQ=")
+                                        @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+                                        @Parameter(description = "Return customers with an id greater than this cursor", example = "3")
+                                        @RequestParam(value = "after", required = false) Long after,
+                                        @Parameter(description = "Maximum number of customers to return", example = "100")
+                                        @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(customerService.getPage(after, limit), HttpStatus.OK);
     }
-}
 
+    @Operation(summary = "Stream all users", description = "Streams every user ordered by id as a JSON array, or as newline-delimited JSON when application/x-ndjson is accepted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request successful", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerOverviewResponseDTO[].class)),
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = CustomerOverviewResponseDTO.class))}),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(value = "{ \"message\": \"Unauthorized access\" }")))
+    })
+    @GetMapping(path = "/overview/stream")
+    public void streamUsers(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                            HttpServletResponse response) throws IOException {
+        boolean ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(ndjson ? MediaType.APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+            // Send the headers straight away instead of waiting for the first buffer to fill.
+            generator.flush();
+            customerService.streamAll(customer -> {
+                try {
+                    generator.writeObject(customer);
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
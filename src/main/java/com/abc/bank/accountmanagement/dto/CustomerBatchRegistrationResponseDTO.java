@@ -0,0 +1,21 @@
+package com.abc.bank.accountmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "Response body for batch registration")
+public class CustomerBatchRegistrationResponseDTO {
+    @Schema(description = "Number of customers registered", example = "1")
+    private int registered;
+
+    @Schema(description = "Number of customers rejected", example = "1")
+    private int failed;
+
+    @Schema(description = "One result per customer, in request order")
+    private List<CustomerBatchRegistrationResultDTO> results;
+}
@@ -0,0 +1,30 @@
+package com.abc.bank.accountmanagement.dto;
+
+import com.abc.bank.accountmanagement.exception.ValidationError;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of one customer of a batch registration")
+public class CustomerBatchRegistrationResultDTO {
+    @Schema(description = "Position of the customer in the request array", example = "0")
+    private int index;
+
+    @Schema(description = "HTTP status this customer would have received from /api/register", example = "200")
+    private int status;
+
+    @Schema(description = "Credentials of the registered customer, present on success")
+    private CustomerRegistrationResponseDTO customer;
+
+    @Schema(description = "Reason the customer was not registered", example = "Username already exists")
+    private String message;
+
+    @Schema(description = "Validation errors of the customer")
+    private List<ValidationError> errors;
+}
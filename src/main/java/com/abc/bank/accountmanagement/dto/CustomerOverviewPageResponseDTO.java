@@ -0,0 +1,21 @@
+package com.abc.bank.accountmanagement.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "A page of customers ordered by id")
+public class CustomerOverviewPageResponseDTO {
+    @Schema(description = "Customers on this page")
+    private List<CustomerOverviewResponseDTO> customers;
+
+    @Schema(description = "Cursor to pass as 'after' to fetch the next page, null when this is the last page", type = "string", example = "3")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long nextCursor;
+}
@@ -2,13 +2,17 @@ package com.abc.bank.accountmanagement.dto;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
 @Builder
 public class CustomerOverviewResponseDTO {
-    private int id;
+    // TSIDs exceed 2^53, which JavaScript numbers cannot hold exactly, so they go over the wire as strings.
+    @JsonSerialize(using = ToStringSerializer.class)
+    private long id;
     private String name;
     private String address;
     private String dateOfBirth;
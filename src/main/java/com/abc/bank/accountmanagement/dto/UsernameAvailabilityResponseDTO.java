@@ -0,0 +1,16 @@
+package com.abc.bank.accountmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Whether a username can still be registered")
+public class UsernameAvailabilityResponseDTO {
+    @Schema(description = "Username that was checked", example = "johndoe")
+    private String username;
+
+    @Schema(description = "True when no customer has registered this username yet", example = "true")
+    private boolean available;
+}
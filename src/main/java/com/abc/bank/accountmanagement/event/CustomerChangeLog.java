@@ -0,0 +1,219 @@
+package com.abc.bank.accountmanagement.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Fans {@link CustomerChangedEvent}s out to every replica through a table in the shared database, so no broker is
+ * needed. Each local change is appended to {@code customer_change_log} (created by {@code schema.sql}); every replica
+ * polls the rows above the last id it has read and republishes other replicas' changes as
+ * {@link RemoteCustomerChangedEvent}s, which evict the same caches a local change does. A remote change is therefore
+ * evicted within one flush and one poll interval of its commit.
+ * <p>
+ * Local changes are only queued by the publishing thread and written by the scheduler in one JDBC batch per flush,
+ * so a registration never waits for, or fails because of, the change log. A failed flush is logged and retried with
+ * the next one; changes beyond {@code max-pending} are dropped with a warning and expire from the other replicas'
+ * caches with their TTL.
+ * <p>
+ * Auto-increment ids are assigned at insert but become visible at commit, so a row can appear below an id that was
+ * already read. Each id skipped over is remembered as a gap and looked up by id on the following polls, until its
+ * row shows up or it is older than {@code lookback}. A poll therefore reads only new rows and open gaps, never the
+ * rows it has already handled.
+ * <p>
+ * The tasks only run between {@link #start()} and {@link #stop()}. Stopping writes the last queued changes, before
+ * the context closes the DataSource.
+ */
+@Component
+@ConditionalOnProperty(name = "cache-invalidation.transport", havingValue = "jdbc", matchIfMissing = true)
+public class CustomerChangeLog implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(CustomerChangeLog.class);
+
+    private static final String INSERT_SQL = "INSERT INTO customer_change_log (customer_id, username, origin, changed_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_NEW_SQL = "SELECT id, customer_id, username, origin FROM customer_change_log WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_BY_ID_SQL = "SELECT id, customer_id, username, origin FROM customer_change_log WHERE id IN (%s)";
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM customer_change_log";
+    private static final String DELETE_OLD_SQL = "DELETE FROM customer_change_log WHERE changed_at < ?";
+
+    // Stopped after the web server has finished its last requests, so their changes are still written.
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final RowMapper<ChangeRow> ROW_MAPPER = (resultSet, rowNum) -> new ChangeRow(
+            resultSet.getLong(1), resultSet.getObject(2, Long.class), resultSet.getString(3), resultSet.getString(4));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String origin = UUID.randomUUID().toString();
+    private final long lookbackNanos;
+    private final int batchSize;
+    private final long retentionMillis;
+    private final BlockingQueue<CustomerChangedEvent> pending;
+
+    // Skipped ids that may still commit, with the System.nanoTime() they were first missed at.
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private long lastSeenId;
+    private volatile boolean running;
+
+    public CustomerChangeLog(JdbcTemplate jdbcTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${cache-invalidation.lookback:PT30S}") Duration lookback,
+                             @Value("${cache-invalidation.batch-size:500}") int batchSize,
+                             @Value("${cache-invalidation.retention:PT1H}") Duration retention,
+                             @Value("${cache-invalidation.max-pending:10000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.lookbackNanos = lookback.toNanos();
+        this.batchSize = Math.max(1, batchSize);
+        this.retentionMillis = retention.toMillis();
+        this.pending = new LinkedBlockingQueue<>(Math.max(1, maxPending));
+    }
+
+    @Override
+    public synchronized void start() {
+        // A replica starts with empty caches, so older changes have nothing left to evict.
+        lastSeenId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        write();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event instanceof RemoteCustomerChangedEvent) {
+            return;
+        }
+        if (!pending.offer(event)) {
+            logger.warn("Change log queue is full, other replicas keep {} cached until it expires", event.getUsername());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache-invalidation.flush-interval:PT0.1S}")
+    public synchronized void flush() {
+        if (running) {
+            write();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache-invalidation.poll-interval:PT1S}")
+    public synchronized void poll() {
+        if (!running) {
+            return;
+        }
+        long now = System.nanoTime();
+        try {
+            pollGaps(now);
+            pollNewRows(now);
+        } catch (DataAccessException exception) {
+            logger.warn("Could not read the customer change log, retrying with the next poll", exception);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache-invalidation.cleanup-interval:PT5M}")
+    public void deleteOldChanges() {
+        if (!running) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(DELETE_OLD_SQL, System.currentTimeMillis() - retentionMillis);
+        } catch (DataAccessException exception) {
+            logger.warn("Could not delete old customer changes", exception);
+        }
+    }
+
+    private void write() {
+        List<CustomerChangedEvent> changes = new ArrayList<>(pending.size());
+        pending.drainTo(changes);
+        if (changes.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (statement, change) -> {
+                statement.setObject(1, change.getCustomerId());
+                statement.setString(2, change.getUsername());
+                statement.setString(3, origin);
+                statement.setLong(4, now);
+            });
+        } catch (DataAccessException exception) {
+            logger.warn("Could not record {} customer changes, retrying with the next flush", changes.size(), exception);
+            int dropped = 0;
+            for (CustomerChangedEvent change : changes) {
+                if (!pending.offer(change)) {
+                    dropped++;
+                }
+            }
+            if (dropped > 0) {
+                logger.warn("Change log queue is full, dropped {} customer changes", dropped);
+            }
+        }
+    }
+
+    private void pollGaps(long now) {
+        gaps.values().removeIf(missedAt -> now - missedAt >= lookbackNanos);
+        List<Long> ids = new ArrayList<>(gaps.keySet());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            String sql = String.format(SELECT_BY_ID_SQL, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            for (ChangeRow row : jdbcTemplate.query(sql, ROW_MAPPER, chunk.toArray())) {
+                gaps.remove(row.id());
+                publish(row);
+            }
+        }
+    }
+
+    private void pollNewRows(long now) {
+        List<ChangeRow> rows;
+        do {
+            rows = jdbcTemplate.query(SELECT_NEW_SQL, ROW_MAPPER, lastSeenId, batchSize);
+            for (ChangeRow row : rows) {
+                // Only the ids just below a row can belong to transactions still in flight; a wider jump is not tracked.
+                for (long missing = Math.max(lastSeenId + 1, row.id() - batchSize); missing < row.id(); missing++) {
+                    gaps.put(missing, now);
+                }
+                lastSeenId = row.id();
+                publish(row);
+            }
+        } while (rows.size() == batchSize);
+    }
+
+    private void publish(ChangeRow row) {
+        if (!origin.equals(row.origin())) {
+            eventPublisher.publishEvent(new RemoteCustomerChangedEvent(row.customerId(), row.username()));
+        }
+    }
+
+    private record ChangeRow(long id, Long customerId, String username, String origin) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.abc.bank.accountmanagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published whenever a customer row is written, so in-process caches holding that customer can drop it.
+ */
+@Data
+@AllArgsConstructor
+public class CustomerChangedEvent {
+    private Long customerId;
+    private String username;
+}
@@ -0,0 +1,12 @@
+package com.abc.bank.accountmanagement.event;
+
+/**
+ * A {@link CustomerChangedEvent} that happened on another replica and was picked up from the change log. Caches
+ * evict on it like on a local change; {@link CustomerChangeLog} does not write it back to the log.
+ */
+public class RemoteCustomerChangedEvent extends CustomerChangedEvent {
+
+    public RemoteCustomerChangedEvent(Long customerId, String username) {
+        super(customerId, username);
+    }
+}
@@ -1,13 +1,18 @@
 package com.abc.bank.accountmanagement.exception;
 
 import org.slf4j.MDC;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
@@ -32,16 +37,30 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(InvalidRequestException exception) {
+        ErrorResponse errorResponse = new ErrorResponse(MDC.get("Trace-Id"), HttpStatus.BAD_REQUEST.value(), exception.getMessage(),null);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(UsernameAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleUsernameAlreadyExistsException(UsernameAlreadyExistsException exception) {
         ErrorResponse errorResponse = new ErrorResponse(MDC.get("Trace-Id"), HttpStatus.CONFLICT.value(), exception.getMessage(),null);
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
-    @ExceptionHandler(TooManyRequestsException.class)
-    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException exception) {
-        ErrorResponse errorResponse = new ErrorResponse(MDC.get("Trace-Id"), HttpStatus.TOO_MANY_REQUESTS.value(), exception.getMessage(),null);
-        return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+    // Raised by the bounded registration pools (TaskRejectedException) when their queues are full.
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException exception) {
+        ErrorResponse errorResponse = new ErrorResponse(MDC.get("Trace-Id"), HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is busy - please try again later",null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
+    }
+
+    // Too many callers already waiting (database.limiter.max-waiting), no connection within Hikari's connection timeout, or the database is down.
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class, TransientDataAccessException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailableException(RuntimeException exception) {
+        ErrorResponse errorResponse = new ErrorResponse(MDC.get("Trace-Id"), HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is busy - please try again later",null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
     }
 
     @ExceptionHandler(AuthenticationException.class)
@@ -1,15 +1,11 @@
 package com.abc.bank.accountmanagement.exception;
 
-
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
-@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
-public class TooManyRequestsException extends RuntimeException {
-    public TooManyRequestsException(String message) {
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
         super(message);
     }
 }
-
-
-
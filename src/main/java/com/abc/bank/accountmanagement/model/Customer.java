@@ -3,9 +3,9 @@ package com.abc.bank.accountmanagement.model;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,9 +16,16 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = Customer.USERNAME_UNIQUE_INDEX, columnList = "username", unique = true),
+        @Index(name = Customer.IBAN_UNIQUE_INDEX, columnList = "iban", unique = true)
+})
 public class Customer {
+    public static final String USERNAME_UNIQUE_INDEX = "ux_customer_username";
+    public static final String IBAN_UNIQUE_INDEX = "ux_customer_iban";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
     private String name;
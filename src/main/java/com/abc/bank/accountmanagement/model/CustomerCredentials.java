@@ -0,0 +1,8 @@
+package com.abc.bank.accountmanagement.model;
+
+/**
+ * The columns of a {@link Customer} that authentication needs, read as an immutable projection so cached lookups
+ * can be shared between request threads without handing out a managed entity.
+ */
+public record CustomerCredentials(Long id, String username, String password) {
+}
@@ -0,0 +1,7 @@
+package com.abc.bank.accountmanagement.model;
+
+/**
+ * Id and username of a customer, read in keyset pages to rebuild the username filter.
+ */
+public record CustomerUsername(Long id, String username) {
+}
@@ -0,0 +1,39 @@
+package com.abc.bank.accountmanagement.model;
+
+import com.abc.bank.accountmanagement.util.TsidGenerator;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+/**
+ * Hibernate side of {@link TsidId}. The node id comes from the {@code tsid.node-id} Hibernate setting
+ * ({@code spring.jpa.properties.tsid.node-id}) and must be unique among the instances writing to the same database.
+ * There is no random fallback: two instances that happened to draw the same node id would generate colliding keys,
+ * so startup fails instead. The {@code dev} Spring profile sets node id 0 for a single local instance.
+ */
+public class TsidIdentifierGenerator implements IdentifierGenerator {
+    public static final String NODE_ID_SETTING = "tsid.node-id";
+
+    private final TsidGenerator generator;
+
+    public TsidIdentifierGenerator(TsidId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object nodeId = context.getServiceRegistry().getService(ConfigurationService.class).getSettings().get(NODE_ID_SETTING);
+        this.generator = new TsidGenerator(parseNodeId(nodeId));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return generator.nextId();
+    }
+
+    public static int parseNodeId(Object nodeId) {
+        if (nodeId == null || nodeId.toString().isBlank()) {
+            throw new IllegalStateException("No " + NODE_ID_SETTING + " configured; set TSID_NODE_ID to an id between 0 and "
+                    + TsidGenerator.MAX_NODE_ID + " that is unique per instance, or run with the dev profile");
+        }
+        return Integer.parseInt(nodeId.toString().trim());
+    }
+}
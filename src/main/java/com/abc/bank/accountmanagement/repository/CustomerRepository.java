@@ -1,12 +1,18 @@
 package com.abc.bank.accountmanagement.repository;
 
 import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.model.CustomerCredentials;
+import com.abc.bank.accountmanagement.model.CustomerUsername;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    Optional<Customer> findByUsername(String username);
+    Optional<CustomerCredentials> findCredentialsByUsername(String username);
 
-}
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 
+    List<CustomerUsername> findUsernamesByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -0,0 +1,121 @@
+package com.abc.bank.accountmanagement.security;
+
+import com.abc.bank.accountmanagement.event.CustomerChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Remembers successful username/password authentications for a short time so repeated HTTP Basic requests
+ * skip the database lookup and the BCrypt comparison. Each entry holds an HMAC of the credentials under a
+ * key that never leaves the process, so neither the password nor an offline-crackable hash of it is kept.
+ * <p>
+ * Entries are keyed by the lower-cased username, matching MySQL's case-insensitive collation, so a
+ * {@link CustomerChangedEvent} evicts the customer with one lookup whatever case was used to log in.
+ */
+@Component
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final DaoAuthenticationProvider delegate;
+    private final Cache<String, VerifiedCredential> verifiedCredentials; // keyed by the normalized username
+    private final ThreadLocal<Mac> macs;
+
+    public CachingAuthenticationProvider(UserDetailsService userDetailsService,
+                                         PasswordEncoder passwordEncoder,
+                                         @Value("${security.auth-cache.max-size:10000}") long maxSize,
+                                         @Value("${security.auth-cache.ttl:PT5M}") Duration ttl) {
+        this.delegate = new DaoAuthenticationProvider();
+        this.delegate.setPasswordEncoder(passwordEncoder);
+        this.delegate.setUserDetailsService(userDetailsService);
+        this.verifiedCredentials = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException exception) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", exception);
+            }
+        });
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String username = normalize(authentication.getName());
+        byte[] digest = digest(username, credentials.toString());
+        VerifiedCredential verified = verifiedCredentials.getIfPresent(username);
+        if (verified == null || !MessageDigest.isEqual(verified.digest(), digest)) {
+            Authentication result = delegate.authenticate(authentication);
+            verified = new VerifiedCredential(digest, result.getPrincipal(), result.getAuthorities());
+            verifiedCredentials.put(username, verified);
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(verified.principal(), null, verified.authorities());
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        invalidate(event.getUsername());
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            verifiedCredentials.invalidate(normalize(username));
+        }
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private byte[] digest(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(password.getBytes(StandardCharsets.UTF_8));
+        return mac.doFinal();
+    }
+
+    private record VerifiedCredential(byte[] digest, Object principal, Collection<? extends GrantedAuthority> authorities) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.abc.bank.accountmanagement.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Spring Security user that also carries the customer id, so a session token can be issued after login
+ * without another database lookup.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class CustomerUserDetails extends User {
+    private final Long customerId;
+
+    public CustomerUserDetails(Long customerId, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.customerId = customerId;
+    }
+}
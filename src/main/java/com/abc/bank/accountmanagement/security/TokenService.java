@@ -0,0 +1,75 @@
+package com.abc.bank.accountmanagement.security;
+
+import com.abc.bank.accountmanagement.util.TokenUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Issues and verifies the HMAC-signed session tokens handed out by /api/logon.
+ */
+@Service
+public class TokenService {
+    public static final String TOKEN_COOKIE = "token";
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private final Duration ttl;
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<byte[]> scratchBuffers = ThreadLocal.withInitial(() -> new byte[80]);
+
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.ttl:PT30M}") Duration ttl) {
+        this.ttl = ttl;
+        SecretKeySpec key = new SecretKeySpec(decodeSecret(secret), HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException exception) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", exception);
+            }
+        });
+    }
+
+    public String generateToken(long customerId) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.getSeconds();
+        return TokenUtil.generateToken(customerId, expiresAt, macs.get());
+    }
+
+    /**
+     * Returns the customer id of a valid, unexpired token or {@link TokenUtil#INVALID_TOKEN}.
+     */
+    public long verifyToken(String token) {
+        return TokenUtil.verifyToken(token, System.currentTimeMillis() / 1000, macs.get(), scratchBuffers.get());
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private static byte[] decodeSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            logger.warn("security.token.secret is not set; using a random key, so tokens will not survive a restart or work across replicas");
+            byte[] random = new byte[MIN_SECRET_LENGTH];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] decoded = Base64.getDecoder().decode(secret);
+        if (decoded.length < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("security.token.secret must be at least " + MIN_SECRET_LENGTH + " bytes of Base64");
+        }
+        return decoded;
+    }
+}
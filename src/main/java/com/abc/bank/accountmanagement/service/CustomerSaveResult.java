@@ -0,0 +1,21 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.abc.bank.accountmanagement.model.Customer;
+
+/**
+ * Outcome of saving one customer of a batch: the saved customer, or the exception that prevented it.
+ */
+public record CustomerSaveResult(Customer customer, RuntimeException failure) {
+
+    public static CustomerSaveResult saved(Customer customer) {
+        return new CustomerSaveResult(customer, null);
+    }
+
+    public static CustomerSaveResult failed(RuntimeException failure) {
+        return new CustomerSaveResult(null, failure);
+    }
+
+    public boolean isSaved() {
+        return failure == null;
+    }
+}
@@ -1,13 +1,26 @@
 package com.abc.bank.accountmanagement.service;
 
+import com.abc.bank.accountmanagement.dto.CustomerBatchRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerOverviewPageResponseDTO;
 import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.dto.UsernameAvailabilityResponseDTO;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface CustomerService {
-    List<CustomerOverviewResponseDTO> getAll();
+    CustomerOverviewPageResponseDTO getPage(Long after, Integer limit);
+
+    void streamAll(Consumer<CustomerOverviewResponseDTO> consumer);
 
     public CustomerRegistrationResponseDTO register(CustomerRegistrationRequestDTO customerRegistrationRequestDTO);
+
+    CompletableFuture<CustomerRegistrationResponseDTO> registerAsync(CustomerRegistrationRequestDTO customerRegistrationRequestDTO);
+
+    CustomerBatchRegistrationResponseDTO registerBatch(List<CustomerRegistrationRequestDTO> requests);
+
+    UsernameAvailabilityResponseDTO checkUsernameAvailability(String username);
 }
@@ -1,41 +1,206 @@
 package com.abc.bank.accountmanagement.service;
 
+import com.abc.bank.accountmanagement.config.RegistrationExecutors;
+import com.abc.bank.accountmanagement.dto.CustomerBatchRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerBatchRegistrationResultDTO;
+import com.abc.bank.accountmanagement.dto.CustomerOverviewPageResponseDTO;
 import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.dto.UsernameAvailabilityResponseDTO;
+import com.abc.bank.accountmanagement.exception.InvalidRequestException;
 import com.abc.bank.accountmanagement.exception.UsernameAlreadyExistsException;
+import com.abc.bank.accountmanagement.exception.ValidationError;
 import com.abc.bank.accountmanagement.mapper.CustomerMapper;
 import com.abc.bank.accountmanagement.model.Customer;
-import com.abc.bank.accountmanagement.util.IbanUtil;
-import com.abc.bank.accountmanagement.util.PasswordUtil;
-import lombok.AllArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.abc.bank.accountmanagement.service.InitialPasswordPool.InitialPassword;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
+    private static final Logger logger = LoggerFactory.getLogger(CustomerServiceImpl.class);
+
     private final DatabaseService databaseService;
-    private final PasswordEncoder passwordEncoder;
+    private final InitialPasswordPool initialPasswordPool;
+    private final Validator validator;
+    private final IbanAllocator ibanAllocator;
+    private final RegistrationExecutors registrationExecutors;
+
+    @Value("${overview.page.default-limit:100}")
+    private int defaultPageLimit;
+
+    @Value("${overview.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    @Value("${registration.batch.max-customers:1000}")
+    private int maxBatchCustomers;
 
-    public List<CustomerOverviewResponseDTO> getAll() {
-        return CustomerMapper.INSTANCE.customersToCustomerOverviewResponseDTOs(databaseService.getAll());
+    public CustomerOverviewPageResponseDTO getPage(Long after, Integer limit) {
+        long afterId = after == null ? 0L : after;
+        int pageLimit = limit == null ? defaultPageLimit : Math.max(1, Math.min(limit, maxPageLimit));
+
+        // Fetch one extra row to find out whether another page follows without issuing a count query.
+        List<Customer> customers = databaseService.getPage(afterId, pageLimit + 1);
+        Long nextCursor = null;
+        if (customers.size() > pageLimit) {
+            customers = customers.subList(0, pageLimit);
+            nextCursor = customers.get(pageLimit - 1).getId();
+        }
+
+        return CustomerOverviewPageResponseDTO.builder()
+                .customers(CustomerMapper.INSTANCE.customersToCustomerOverviewResponseDTOs(customers))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public void streamAll(Consumer<CustomerOverviewResponseDTO> consumer) {
+        databaseService.streamAll(customer -> consumer.accept(CustomerMapper.INSTANCE.customerToCustomerOverviewResponseDTO(customer)));
     }
 
     public CustomerRegistrationResponseDTO register(CustomerRegistrationRequestDTO customerRegistrationRequestDTO) {
-        if (!databaseService.checkUsernameAvailability(customerRegistrationRequestDTO.getUsername())) {
-            throw new UsernameAlreadyExistsException("Username already exists");
+        // No availability pre-check: the unique username index rejects duplicates and saveCustomer reports them
+        // as UsernameAlreadyExistsException, which also holds for concurrent registrations of the same name.
+        InitialPassword initialPassword = initialPasswordPool.take();
+        Customer savedCustomer = databaseService.saveCustomer(newCustomer(customerRegistrationRequestDTO, initialPassword));
+        savedCustomer.setPassword(initialPassword.password());
+
+        return CustomerMapper.INSTANCE.toCustomerRegistrationResponseDTO(savedCustomer);
+    }
+
+    public CompletableFuture<CustomerRegistrationResponseDTO> registerAsync(CustomerRegistrationRequestDTO customerRegistrationRequestDTO) {
+        // Taking the initial password may fall back to BCrypt, so it runs on the CPU pool; the INSERT runs on the I/O pool.
+        // A full pool rejects its stage and the future fails with TaskRejectedException.
+        return CompletableFuture.supplyAsync(initialPasswordPool::take, registrationExecutors.cpu())
+                .thenApplyAsync(initialPassword -> {
+                    Customer savedCustomer = databaseService.saveCustomer(newCustomer(customerRegistrationRequestDTO, initialPassword));
+                    savedCustomer.setPassword(initialPassword.password());
+                    return CustomerMapper.INSTANCE.toCustomerRegistrationResponseDTO(savedCustomer);
+                }, registrationExecutors.io());
+    }
+
+    public CustomerBatchRegistrationResponseDTO registerBatch(List<CustomerRegistrationRequestDTO> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchCustomers) {
+            throw new InvalidRequestException("A batch must contain between 1 and " + maxBatchCustomers + " customers");
         }
 
-        Customer customer = CustomerMapper.INSTANCE.toCustomer(customerRegistrationRequestDTO);
-        String rawPassword = PasswordUtil.generateDefaultPassword();
-        customer.setPassword(passwordEncoder.encode(rawPassword));
-        customer.setIban(IbanUtil.generateIban());
-        Customer savedCustomer = databaseService.saveCustomer(customer);
-        savedCustomer.setPassword(rawPassword);
+        CustomerBatchRegistrationResultDTO[] results = new CustomerBatchRegistrationResultDTO[requests.size()];
+        List<Customer> customers = new ArrayList<>(requests.size());
+        List<Integer> customerIndexes = new ArrayList<>(requests.size());
+        List<String> rawPasswords = new ArrayList<>(requests.size());
+        Set<String> usernames = new HashSet<>();
+        for (int index = 0; index < requests.size(); index++) {
+            CustomerRegistrationRequestDTO request = requests.get(index);
+            if (request == null) {
+                results[index] = failure(index, HttpStatus.BAD_REQUEST, "Customer is missing", null);
+                continue;
+            }
+            Set<ConstraintViolation<CustomerRegistrationRequestDTO>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                List<ValidationError> errors = violations.stream()
+                        .map(violation -> new ValidationError(violation.getPropertyPath().toString(), violation.getMessage()))
+                        .collect(Collectors.toList());
+                results[index] = failure(index, HttpStatus.BAD_REQUEST, "Validation failed", errors);
+                continue;
+            }
+            // Duplicates inside the batch would otherwise cost a failed JDBC batch and a row-by-row retry.
+            if (!usernames.add(request.getUsername().toLowerCase(Locale.ROOT))) {
+                results[index] = failure(index, HttpStatus.CONFLICT, "Username already exists", null);
+                continue;
+            }
+            InitialPassword initialPassword = initialPasswordPool.take();
+            customers.add(newCustomer(request, initialPassword));
+            customerIndexes.add(index);
+            rawPasswords.add(initialPassword.password());
+        }
 
-        return CustomerMapper.INSTANCE.toCustomerRegistrationResponseDTO(savedCustomer);
+        List<CustomerSaveResult> saveResults = customers.isEmpty() ? List.of() : databaseService.saveCustomers(customers);
+        int registered = 0;
+        for (int i = 0; i < saveResults.size(); i++) {
+            int index = customerIndexes.get(i);
+            CustomerSaveResult saveResult = saveResults.get(i);
+            if (saveResult.isSaved()) {
+                Customer savedCustomer = saveResult.customer();
+                savedCustomer.setPassword(rawPasswords.get(i));
+                results[index] = CustomerBatchRegistrationResultDTO.builder()
+                        .index(index)
+                        .status(HttpStatus.OK.value())
+                        .customer(CustomerMapper.INSTANCE.toCustomerRegistrationResponseDTO(savedCustomer))
+                        .build();
+                registered++;
+            } else if (saveResult.failure() instanceof UsernameAlreadyExistsException) {
+                results[index] = failure(index, HttpStatus.CONFLICT, saveResult.failure().getMessage(), null);
+            } else {
+                results[index] = saveFailure(index, saveResult.failure());
+            }
+        }
+
+        return CustomerBatchRegistrationResponseDTO.builder()
+                .registered(registered)
+                .failed(requests.size() - registered)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    public UsernameAvailabilityResponseDTO checkUsernameAvailability(String username) {
+        if (username == null || username.isBlank()) {
+            throw new InvalidRequestException("Username is mandatory");
+        }
+        // Advisory only: the unique username index still decides when the customer registers.
+        return UsernameAvailabilityResponseDTO.builder()
+                .username(username)
+                .available(databaseService.checkUsernameAvailability(username))
+                .build();
+    }
+
+    private Customer newCustomer(CustomerRegistrationRequestDTO request, InitialPassword initialPassword) {
+        Customer customer = CustomerMapper.INSTANCE.toCustomer(request);
+        customer.setPassword(initialPassword.hash());
+        customer.setIban(ibanAllocator.nextIban());
+        return customer;
+    }
+
+    /**
+     * The request itself was valid, so any failure other than a taken username is on our side: 503 when the
+     * database may accept the same customer on a retry, 500 otherwise (for example an IBAN collision).
+     */
+    private static CustomerBatchRegistrationResultDTO saveFailure(int index, RuntimeException exception) {
+        if (exception instanceof TransientDataAccessException || exception instanceof RecoverableDataAccessException
+                || exception instanceof DataAccessResourceFailureException || exception instanceof CannotCreateTransactionException) {
+            logger.warn("Customer {} of the batch could not be saved, the database is unavailable", index, exception);
+            return failure(index, HttpStatus.SERVICE_UNAVAILABLE, "Customer could not be saved - please try again later", null);
+        }
+        logger.error("Customer {} of the batch could not be saved", index, exception);
+        return failure(index, HttpStatus.INTERNAL_SERVER_ERROR, "Customer could not be saved", null);
+    }
+
+    private static CustomerBatchRegistrationResultDTO failure(int index, HttpStatus status, String message, List<ValidationError> errors) {
+        return CustomerBatchRegistrationResultDTO.builder()
+                .index(index)
+                .status(status.value())
+                .message(message)
+                .errors(errors)
+                .build();
     }
 }
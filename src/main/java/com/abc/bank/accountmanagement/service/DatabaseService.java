@@ -1,15 +1,21 @@
 package com.abc.bank.accountmanagement.service;
 
 import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.model.CustomerCredentials;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DatabaseService {
     public Customer saveCustomer(Customer customer);
 
-    public Customer findCustomerByUsername(String username);
+    public List<CustomerSaveResult> saveCustomers(List<Customer> customers);
+
+    public CustomerCredentials findCredentialsByUsername(String username);
 
     public boolean checkUsernameAvailability(String username);
 
-    public List<Customer> getAll();
+    public List<Customer> getPage(long afterId, int limit);
+
+    public void streamAll(Consumer<Customer> consumer);
 }
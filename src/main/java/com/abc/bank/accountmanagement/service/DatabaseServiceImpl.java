@@ -1,45 +1,232 @@
 package com.abc.bank.accountmanagement.service;
 
+import com.abc.bank.accountmanagement.event.CustomerChangedEvent;
+import com.abc.bank.accountmanagement.exception.UsernameAlreadyExistsException;
 import com.abc.bank.accountmanagement.exception.UsernameNotFoundException;
 import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.model.CustomerCredentials;
 import com.abc.bank.accountmanagement.repository.CustomerRepository;
-import com.abc.bank.accountmanagement.exception.TooManyRequestsException;
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
-@AllArgsConstructor
 public class DatabaseServiceImpl implements DatabaseService {
 
-    private final RateLimiterService rateLimiterService;
     private final CustomerRepository customerRepository;
+    private final EntityManager entityManager;
+    private final UsernameFilterService usernameFilterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int batchSize;
+    private final int streamPageSize;
+    // Username lookups, including misses, so repeated authentications and availability checks skip the database.
+    // Keyed by the lower-cased username, matching MySQL's case-insensitive collation.
+    private final Cache<String, Optional<CustomerCredentials>> credentialsByUsername;
+
+    public DatabaseServiceImpl(CustomerRepository customerRepository,
+                               EntityManager entityManager,
+                               UsernameFilterService usernameFilterService,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${registration.batch.size:50}") int batchSize,
+                               @Value("${overview.stream.page-size:500}") int streamPageSize,
+                               @Value("${customer-cache.max-size:10000}") long cacheMaxSize,
+                               @Value("${customer-cache.ttl:PT5M}") Duration cacheTtl,
+                               @Value("${customer-cache.negative-ttl:PT5S}") Duration cacheNegativeTtl) {
+        this.customerRepository = customerRepository;
+        this.entityManager = entityManager;
+        this.usernameFilterService = usernameFilterService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.batchSize = Math.max(1, batchSize);
+        this.streamPageSize = Math.max(1, streamPageSize);
+        this.credentialsByUsername = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new LookupExpiry(cacheTtl, cacheNegativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, credentialsByUsername, "customers");
+    }
 
     public Customer saveCustomer(Customer customer) {
-        rateLimitCheck();
-        return customerRepository.save(customer);
+        // Added before the INSERT so a concurrent availability check can never be told a name that is being saved is free.
+        usernameFilterService.put(customer.getUsername());
+        try {
+            // Flush so a duplicate username surfaces here as a unique index violation rather than at commit.
+            Customer savedCustomer = customerRepository.saveAndFlush(customer);
+            eventPublisher.publishEvent(new CustomerChangedEvent(savedCustomer.getId(), savedCustomer.getUsername()));
+            return savedCustomer;
+        } catch (DataIntegrityViolationException exception) {
+            if (violatesConstraint(exception, Customer.USERNAME_UNIQUE_INDEX)) {
+                throw new UsernameAlreadyExistsException("Username already exists");
+            }
+            throw exception;
+        }
+    }
+
+    public List<CustomerSaveResult> saveCustomers(List<Customer> customers) {
+        List<CustomerSaveResult> results = new ArrayList<>(customers.size());
+        for (int from = 0; from < customers.size(); from += batchSize) {
+            saveChunk(customers.subList(from, Math.min(from + batchSize, customers.size())), results);
+        }
+        return results;
+    }
+
+    private void saveChunk(List<Customer> chunk, List<CustomerSaveResult> results) {
+        for (Customer customer : chunk) {
+            usernameFilterService.put(customer.getUsername());
+        }
+        List<Customer> savedCustomers;
+        try {
+            // One transaction and one flush per chunk, so Hibernate sends the INSERTs as a single JDBC batch.
+            savedCustomers = transactionTemplate.execute(status -> {
+                List<Customer> saved = customerRepository.saveAll(chunk);
+                customerRepository.flush();
+                return saved;
+            });
+        } catch (DataIntegrityViolationException exception) {
+            // A single conflicting row rolls back the whole chunk; save its rows one by one to find out which.
+            for (Customer customer : chunk) {
+                customer.setId(null);
+                try {
+                    results.add(CustomerSaveResult.saved(saveCustomer(customer)));
+                } catch (UsernameAlreadyExistsException | DataAccessException | TransactionException failure) {
+                    results.add(CustomerSaveResult.failed(failure));
+                }
+            }
+            return;
+        } catch (DataAccessException | TransactionException exception) {
+            // The database itself failed, not one of the rows. Earlier chunks are committed and stay reported
+            // as saved; every row of this chunk is reported with the failure so the caller can answer 500 or 503.
+            for (Customer customer : chunk) {
+                customer.setId(null);
+                results.add(CustomerSaveResult.failed(exception));
+            }
+            return;
+        }
+        for (Customer savedCustomer : savedCustomers) {
+            eventPublisher.publishEvent(new CustomerChangedEvent(savedCustomer.getId(), savedCustomer.getUsername()));
+            results.add(CustomerSaveResult.saved(savedCustomer));
+        }
     }
 
-    public Customer findCustomerByUsername(String username) {
-        rateLimitCheck();
-        return customerRepository.findByUsername(username)
+    public CustomerCredentials findCredentialsByUsername(String username) {
+        return lookup(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
     public boolean checkUsernameAvailability(String username) {
-        rateLimitCheck();
-        return customerRepository.findByUsername(username).isEmpty();
+        if (!usernameFilterService.mightContain(username)) {
+            return true;
+        }
+        return lookup(username).isEmpty();
     }
 
-    public List<Customer> getAll() {
-        return customerRepository.findAll();
+    // Runs before the authentication cache is evicted, so a login in between cannot cache the old credentials again.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.getUsername() != null) {
+            credentialsByUsername.invalidate(normalize(event.getUsername()));
+        }
+    }
+
+    public List<Customer> getPage(long afterId, int limit) {
+        return customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(limit));
     }
 
-    private void rateLimitCheck() {
-        if (!rateLimiterService.tryConsume()) {
-            throw new TooManyRequestsException("Too many requests - please try again later");
+    /**
+     * Reads the table in keyset pages, each in its own short read-only transaction, and hands a page on only after
+     * its transaction has ended. A slow client therefore never holds a database connection while it reads.
+     */
+    public void streamAll(Consumer<Customer> consumer) {
+        long afterId = 0L;
+        List<Customer> page;
+        do {
+            long from = afterId;
+            page = readOnlyTransactionTemplate.execute(status -> {
+                List<Customer> customers = customerRepository.findByIdGreaterThanOrderByIdAsc(from, PageRequest.ofSize(streamPageSize));
+                // Detach each row so a surrounding persistence context does not grow with the result set.
+                customers.forEach(entityManager::detach);
+                return customers;
+            });
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == streamPageSize);
+    }
+
+    private Optional<CustomerCredentials> lookup(String username) {
+        // The key is also what is queried, so whichever spelling comes first, the entry holds what the database
+        // returns for every spelling. That relies on the column comparing case-insensitively, as MySQL's default does.
+        return credentialsByUsername.get(normalize(username), customerRepository::findCredentialsByUsername);
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean violatesConstraint(DataIntegrityViolationException exception, String constraintName) {
+        String violated = null;
+        if (exception.getCause() instanceof ConstraintViolationException constraintViolation) {
+            violated = constraintViolation.getConstraintName();
+        }
+        if (violated == null) {
+            violated = exception.getMostSpecificCause().getMessage();
         }
+        return violated != null && violated.toLowerCase(Locale.ROOT).contains(constraintName);
     }
-}
 
+    /**
+     * Keeps found customers for the full TTL and misses only briefly. A registration invalidates its username
+     * straight away, but a short negative TTL bounds how long another instance can keep reporting it as unknown.
+     */
+    private record LookupExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, Optional<CustomerCredentials>> {
+
+        @Override
+        public long expireAfterCreate(String username, Optional<CustomerCredentials> credentials, long currentTime) {
+            return (credentials.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String username, Optional<CustomerCredentials> credentials, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(username, credentials, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String username, Optional<CustomerCredentials> credentials, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
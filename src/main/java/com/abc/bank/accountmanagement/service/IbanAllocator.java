@@ -0,0 +1,90 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.abc.bank.accountmanagement.util.IbanUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out unique IBANs without a collision check. Each instance reserves a block of {@code iban.block-size}
+ * account numbers from the shared {@code iban_sequence} row with compare-and-swap, then serves the block from an
+ * {@link AtomicLong}; only reserving the next block takes a lock.
+ * <p>
+ * Account numbers start at {@value #FIRST_ACCOUNT_NUMBER}, above every number the former random generator could
+ * produce, so new IBANs never clash with existing ones. The table is created by {@code schema.sql}.
+ */
+@Service
+public class IbanAllocator {
+    public static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+    public static final String SEQUENCE_NAME = "account_number";
+    private static final String SELECT_SQL = "SELECT next_value FROM iban_sequence WHERE sequence_name = ?";
+    private static final String INSERT_SQL = "INSERT INTO iban_sequence (sequence_name, next_value) VALUES (?, ?)";
+    private static final String UPDATE_SQL = "UPDATE iban_sequence SET next_value = ? WHERE sequence_name = ? AND next_value = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long blockSize;
+    private volatile Block block = new Block(0, 0);
+
+    public IbanAllocator(JdbcTemplate jdbcTemplate, @Value("${iban.block-size:1000}") long blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public String nextIban() {
+        return IbanUtil.toIban(nextAccountNumber());
+    }
+
+    long nextAccountNumber() {
+        while (true) {
+            Block current = block;
+            long accountNumber = current.next.getAndIncrement();
+            if (accountNumber < current.end) {
+                return accountNumber;
+            }
+            synchronized (this) {
+                if (block == current) {
+                    block = reserveBlock();
+                }
+            }
+        }
+    }
+
+    private Block reserveBlock() {
+        while (true) {
+            List<Long> rows = jdbcTemplate.queryForList(SELECT_SQL, Long.class, SEQUENCE_NAME);
+            if (rows.isEmpty()) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, SEQUENCE_NAME, FIRST_ACCOUNT_NUMBER + blockSize);
+                    return new Block(FIRST_ACCOUNT_NUMBER, FIRST_ACCOUNT_NUMBER + blockSize);
+                } catch (DuplicateKeyException exception) {
+                    // Another instance created the row first; reserve from it instead.
+                    continue;
+                }
+            }
+
+            long start = rows.get(0);
+            long end = Math.min(start + blockSize, IbanUtil.MAX_ACCOUNT_NUMBER + 1);
+            if (start >= end) {
+                throw new IllegalStateException("All IBAN account numbers have been allocated");
+            }
+            // A lost race only means another instance took this block; the next attempt reads the new value.
+            if (jdbcTemplate.update(UPDATE_SQL, end, SEQUENCE_NAME, start) == 1) {
+                return new Block(start, end);
+            }
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.abc.bank.accountmanagement.util.PasswordUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a bounded queue of random initial passwords that have already been BCrypt-hashed by background workers,
+ * so registration takes a ready pair instead of hashing on the request thread. When the queue is empty, for
+ * example under a sustained burst or right after startup, a pair is generated synchronously and counted as a
+ * fallback.
+ */
+@Service
+public class InitialPasswordPool {
+
+    public record InitialPassword(String password, String hash) {
+    }
+
+    private final PasswordEncoder passwordEncoder;
+    private final BlockingQueue<InitialPassword> ready;
+    private final int hashThreads;
+    private final Counter refills;
+    private final Counter taken;
+    private final Counter fallbacks;
+    private final Timer hashTime;
+    private volatile ExecutorService workers;
+
+    public InitialPasswordPool(PasswordEncoder passwordEncoder,
+                               MeterRegistry meterRegistry,
+                               @Value("${initial-password.pool-size:1000}") int poolSize,
+                               @Value("${initial-password.hash-threads:2}") int hashThreads) {
+        this.passwordEncoder = passwordEncoder;
+        this.ready = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.hashThreads = Math.max(1, hashThreads);
+
+        Gauge.builder("initial.password.pool.size", ready, BlockingQueue::size)
+                .description("Hashed initial passwords ready to be handed out")
+                .register(meterRegistry);
+        this.refills = Counter.builder("initial.password.pool.refills")
+                .description("Initial passwords hashed by the background workers")
+                .register(meterRegistry);
+        this.taken = Counter.builder("initial.password.pool.taken")
+                .description("Initial passwords handed out from the pool")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("initial.password.pool.fallbacks")
+                .description("Initial passwords hashed on the request thread because the pool was empty")
+                .register(meterRegistry);
+        this.hashTime = Timer.builder("initial.password.pool.hash.time")
+                .description("Time to generate and hash one initial password")
+                .register(meterRegistry);
+    }
+
+    public InitialPassword take() {
+        InitialPassword initialPassword = ready.poll();
+        if (initialPassword != null) {
+            taken.increment();
+            return initialPassword;
+        }
+        fallbacks.increment();
+        return newInitialPassword();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (workers != null) {
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("initial-password-");
+        threadFactory.setDaemon(true);
+        workers = Executors.newFixedThreadPool(hashThreads, threadFactory);
+        for (int i = 0; i < hashThreads; i++) {
+            workers.execute(this::refill);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+    }
+
+    int size() {
+        return ready.size();
+    }
+
+    // put() blocks while the queue is full, so workers only burn CPU to replace pairs that were taken.
+    private void refill() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                InitialPassword initialPassword = newInitialPassword();
+                ready.put(initialPassword);
+                refills.increment();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private InitialPassword newInitialPassword() {
+        long start = System.nanoTime();
+        String password = PasswordUtil.generatePassword();
+        InitialPassword initialPassword = new InitialPassword(password, passwordEncoder.encode(password));
+        hashTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return initialPassword;
+    }
+}
@@ -0,0 +1,196 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Keeps bucket state in the shared database so the limit holds across all replicas. Each bucket row of the
+ * {@code rate_limit_bucket} table (created by {@code schema.sql}) is updated with compare-and-swap on a version column,
+ * which works the same on MySQL and H2 without row locks.
+ * To keep most decisions in-process, a replica takes tokens from the shared bucket in chunks of
+ * {@code rate-limit.distributed.batch-size} and hands them out locally until they run out or go stale.
+ * <p>
+ * A chunk is normally taken with a single conditional UPDATE; the SELECT and compare-and-swap are only needed to create
+ * a bucket or to take the last few tokens of one. A chunk of n tokens saves n - 1 of those round trips. The price is
+ * fairness, not safety: tokens one replica holds are unavailable to the others for up to one refill period, and any it
+ * has not handed out by then are lost. The limit is never exceeded.
+ * <p>
+ * Chunks are capped at the bucket capacity. With the default limits the shared pool (5) and the authentication floor (3)
+ * are batched, while the 1-token write and read floors are not: a bucket that refills one token per period has nothing
+ * to spread over several requests. Once such a bucket is empty the replica answers locally until it can have refilled,
+ * so it costs at most two statements per refill period however many requests arrive.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.mode", havingValue = "distributed")
+public class JdbcRateLimitBackend implements RateLimitBackend {
+    private static final String SELECT_SQL = "SELECT tokens, refilled_at, version FROM rate_limit_bucket WHERE bucket_key = ?";
+    private static final String INSERT_SQL = "INSERT INTO rate_limit_bucket (bucket_key, tokens, refilled_at, version) VALUES (?, ?, ?, 0)";
+    // Refills the bucket and takes the tokens in one statement, provided they are all there.
+    private static final String AVAILABLE_EXPRESSION = "LEAST(?, tokens + FLOOR(LEAST(GREATEST(? - refilled_at, 0), ?) * ? / ?))";
+    private static final String TAKE_SQL = "UPDATE rate_limit_bucket SET tokens = " + AVAILABLE_EXPRESSION + " - ?, "
+            + "refilled_at = GREATEST(?, refilled_at), version = version + 1 "
+            + "WHERE bucket_key = ? AND " + AVAILABLE_EXPRESSION + " >= ?";
+    private static final String UPDATE_SQL = "UPDATE rate_limit_bucket SET tokens = ?, refilled_at = ?, version = ? WHERE bucket_key = ? AND version = ?";
+    private static final String DELETE_IDLE_SQL = "DELETE FROM rate_limit_bucket WHERE refilled_at < ?";
+
+    // Tokens are stored in millionths so that greedy refill does not lose fractions between updates.
+    private static final long SCALE = 1_000_000L;
+    private static final int MAX_CAS_ATTEMPTS = 8;
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private static final RowMapper<BucketRow> ROW_MAPPER = (resultSet, rowNum) ->
+            new BucketRow(resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long refillPeriodMillis;
+    private final long batchSize;
+    private final long idleEvictionMillis;
+    private final Cache<String, LocalBatch> batches;
+    private final Function<String, LocalBatch> batchFactory = key -> new LocalBatch();
+
+    public JdbcRateLimitBackend(JdbcTemplate jdbcTemplate,
+                                @Value("${rate-limit.refill-period:PT1S}") Duration refillPeriod,
+                                @Value("${rate-limit.max-keys:100000}") long maxKeys,
+                                @Value("${rate-limit.idle-eviction:PT10M}") Duration idleEviction,
+                                @Value("${rate-limit.distributed.batch-size:5}") long batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.refillPeriodMillis = refillPeriod.toMillis();
+        this.batchSize = Math.max(1, batchSize);
+        this.idleEvictionMillis = idleEviction.toMillis();
+        this.batches = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleEviction)
+                .build();
+    }
+
+    @Override
+    public boolean tryConsume(String key, long capacity) {
+        LocalBatch batch = batches.get(key, batchFactory);
+        if (batch.tryTake()) {
+            return true;
+        }
+        synchronized (batch) {
+            if (batch.tryTake()) {
+                return true;
+            }
+            long now = System.currentTimeMillis();
+            if (now < batch.blockedUntil) {
+                return false;
+            }
+            long granted = reserve(key, Math.min(batchSize, capacity), capacity, now);
+            if (granted == 0) {
+                // The shared bucket is empty; answer locally until at least one token can have been refilled.
+                batch.blockedUntil = now + Math.max(1, refillPeriodMillis / capacity);
+                return false;
+            }
+            // Locally held tokens expire after one refill period so a replica cannot hoard a stale burst.
+            batch.refill(granted - 1, now + refillPeriodMillis);
+            return true;
+        }
+    }
+
+    /**
+     * Puts the token back into this replica's local batch rather than the shared row. A token refunded after the
+     * batch has gone stale is dropped, which errs towards admitting less, never more.
+     */
+    @Override
+    public void refund(String key, long capacity) {
+        LocalBatch batch = batches.getIfPresent(key);
+        if (batch != null) {
+            batch.giveBack();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.distributed.cleanup-interval:PT5M}")
+    public void deleteIdleBuckets() {
+        jdbcTemplate.update(DELETE_IDLE_SQL, System.currentTimeMillis() - idleEvictionMillis);
+    }
+
+    /**
+     * Takes up to {@code wanted} whole tokens from the shared bucket and returns how many were granted.
+     */
+    long reserve(String key, long wanted, long capacity, long now) {
+        String bucketKey = key.length() <= MAX_KEY_LENGTH ? key : key.substring(0, MAX_KEY_LENGTH);
+        long capacityScaled = capacity * SCALE;
+        long wantedScaled = wanted * SCALE;
+        if (jdbcTemplate.update(TAKE_SQL, capacityScaled, now, refillPeriodMillis, capacityScaled, refillPeriodMillis, wantedScaled,
+                now, bucketKey, capacityScaled, now, refillPeriodMillis, capacityScaled, refillPeriodMillis, wantedScaled) == 1) {
+            return wanted;
+        }
+        // No bucket yet, or fewer than wanted tokens left: read the row and take what there is.
+        for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+            List<BucketRow> rows = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, bucketKey);
+            if (rows.isEmpty()) {
+                long granted = Math.min(wanted, capacity);
+                try {
+                    jdbcTemplate.update(INSERT_SQL, bucketKey, (capacity - granted) * SCALE, now);
+                    return granted;
+                } catch (DuplicateKeyException exception) {
+                    // Another replica created the bucket first; retry against its row.
+                    continue;
+                }
+            }
+
+            BucketRow row = rows.get(0);
+            long elapsed = Math.min(Math.max(0, now - row.refilledAt()), refillPeriodMillis);
+            long available = Math.min(capacity * SCALE, row.tokens() + elapsed * capacity * SCALE / refillPeriodMillis);
+            long granted = Math.min(wanted, available / SCALE);
+            if (granted == 0) {
+                return 0;
+            }
+            int updated = jdbcTemplate.update(UPDATE_SQL, available - granted * SCALE, Math.max(now, row.refilledAt()),
+                    row.version() + 1, bucketKey, row.version());
+            if (updated == 1) {
+                return granted;
+            }
+        }
+        // Persistent contention on one key: deny rather than spin.
+        return 0;
+    }
+
+    private record BucketRow(long tokens, long refilledAt, long version) {
+    }
+
+    private static final class LocalBatch {
+        private final AtomicLong tokens = new AtomicLong();
+        private volatile long expiresAt;
+        private long blockedUntil;
+
+        boolean tryTake() {
+            if (System.currentTimeMillis() >= expiresAt) {
+                return false;
+            }
+            long current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        void giveBack() {
+            if (System.currentTimeMillis() < expiresAt) {
+                tokens.incrementAndGet();
+            }
+        }
+
+        void refill(long count, long validUntil) {
+            tokens.set(count);
+            expiresAt = validUntil;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Keeps buckets in this JVM only. Buckets live in a size-bounded Caffeine map and are dropped after being idle,
+ * so memory stays capped however many distinct keys show up.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.mode", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitBackend implements RateLimitBackend {
+    private final Duration refillPeriod;
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimitBackend(@Value("${rate-limit.refill-period:PT1S}") Duration refillPeriod,
+                                 @Value("${rate-limit.max-keys:100000}") long maxKeys,
+                                 @Value("${rate-limit.idle-eviction:PT10M}") Duration idleEviction) {
+        this.refillPeriod = refillPeriod;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleEviction)
+                .build();
+    }
+
+    @Override
+    public boolean tryConsume(String key, long capacity) {
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.get(key, newKey -> newBucket(capacity));
+        }
+        return bucket.tryConsume(1);
+    }
+
+    @Override
+    public void refund(String key, long capacity) {
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            bucket.addTokens(1);
+        }
+    }
+
+    private Bucket newBucket(long capacity) {
+        return Bucket.builder().addLimit(Bandwidth.classic(capacity, Refill.greedy(capacity, refillPeriod))).build();
+    }
+}
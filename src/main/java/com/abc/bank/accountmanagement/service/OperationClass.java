@@ -0,0 +1,21 @@
+package com.abc.bank.accountmanagement.service;
+
+/**
+ * Workloads that get their own guaranteed rate-limit budget. A class that has used up its own budget draws on
+ * the key's shared pool, never on the budget of another class.
+ */
+public enum OperationClass {
+    AUTHENTICATION("auth:"),
+    WRITE("write:"),
+    READ("read:");
+
+    private final String keyPrefix;
+
+    OperationClass(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public String keyPrefix() {
+        return keyPrefix;
+    }
+}
@@ -0,0 +1,18 @@
+package com.abc.bank.accountmanagement.service;
+
+/**
+ * Storage for rate-limit buckets. {@code rate-limit.mode} selects the in-memory or the database-backed implementation.
+ */
+public interface RateLimitBackend {
+    /**
+     * Takes one token from the bucket of {@code key}, which holds at most {@code capacity} tokens and refills
+     * completely once per {@code rate-limit.refill-period}.
+     */
+    boolean tryConsume(String key, long capacity);
+
+    /**
+     * Gives back a token that {@link #tryConsume} took from the bucket of {@code key}, for a request that was
+     * rejected on another key after all.
+     */
+    void refund(String key, long capacity);
+}
@@ -0,0 +1,80 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.abc.bank.accountmanagement.security.TokenAuthenticationFilter;
+import com.abc.bank.accountmanagement.security.TokenService;
+import com.abc.bank.accountmanagement.util.TokenUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Derives the rate-limit keys a request is charged against: the client IP, the customer of a valid session token
+ * and the API key, whichever are present.
+ * <p>
+ * Only identities a caller cannot claim for somebody else become keys. A Basic-auth username is not one of them:
+ * it is unverified until BCrypt has run, so anybody could send a victim's username and drain that victim's budget.
+ * A session token is verified here with one HMAC, and an API key is a secret that only its holder can present.
+ */
+@Component
+public class RateLimitKeyResolver {
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    static final String LOGON_PATH = "/api/logon";
+    private static final String BASIC_SCHEME = "Basic ";
+
+    // Keys come from client input, so their length is capped to keep the bucket map's memory bounded.
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final TokenService tokenService;
+
+    public RateLimitKeyResolver(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    public List<String> resolve(HttpServletRequest request) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add("ip:" + request.getRemoteAddr());
+
+        String token = TokenAuthenticationFilter.resolveToken(request);
+        if (token != null) {
+            long customerId = tokenService.verifyToken(token);
+            if (customerId != TokenUtil.INVALID_TOKEN) {
+                keys.add("customer:" + customerId);
+            }
+        }
+
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank()) {
+            keys.add("api-key:" + truncate(apiKey));
+        }
+        return keys;
+    }
+
+    /**
+     * Logins and requests that carry HTTP Basic credentials are authentication, since both cost a password check;
+     * any other request that is not a safe method (GET, HEAD, OPTIONS) is a write.
+     */
+    public OperationClass classify(HttpServletRequest request) {
+        if (LOGON_PATH.equals(request.getRequestURI()) || hasBasicCredentials(request)) {
+            return OperationClass.AUTHENTICATION;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return OperationClass.READ;
+        }
+        return OperationClass.WRITE;
+    }
+
+    private static boolean hasBasicCredentials(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null && authorization.regionMatches(true, 0, BASIC_SCHEME, 0, BASIC_SCHEME.length());
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_KEY_LENGTH ? value : value.substring(0, MAX_KEY_LENGTH);
+    }
+}
@@ -1,24 +1,161 @@
 package com.abc.bank.accountmanagement.service;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Bucket4j;
-import io.github.bucket4j.Refill;
+import com.abc.bank.accountmanagement.util.LatencyTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Charges requests against one token bucket per client key (IP, verified customer, API key). Where the buckets are kept
+ * is up to the configured {@link RateLimitBackend}.
+ * <p>
+ * Each key's capacity is split in two. The {@code rate-limit.guaranteed} fraction is divided between the
+ * {@link OperationClass}es by the configured shares; that floor belongs to its class alone, so a burst of
+ * registrations cannot use up the budget of reads and neither can use up the budget of logins. The rest is a pool
+ * that any class draws on once its own floor is spent. Floors and pool add up to exactly the capacity, and a
+ * configuration that would leave a class without a floor is rejected at startup.
+ */
 @Service
 public class RateLimiterService {
-    private Bucket bucket;
+    static final String SHARED_KEY_PREFIX = "shared:";
 
-    public RateLimiterService() {
-        Bandwidth limit = Bandwidth.classic(2, Refill.greedy(2, Duration.ofSeconds(1)));
-        this.bucket = Bucket4j.builder().addLimit(limit).build();
+    private static final OperationClass[] OPERATION_CLASSES = OperationClass.values();
+    private static final int SHARED = OPERATION_CLASSES.length;
+
+    private final RateLimitKeyResolver keyResolver;
+    private final RateLimitBackend backend;
+    private final long[] guaranteedCapacities;
+    private final long sharedCapacity;
+    private final Timer[] allowedTimers = new Timer[OPERATION_CLASSES.length];
+    private final Timer[] rejectedTimers = new Timer[OPERATION_CLASSES.length];
+
+    public RateLimiterService(RateLimitKeyResolver keyResolver, RateLimitBackend backend, MeterRegistry meterRegistry,
+                              @Value("${rate-limit.capacity:10}") long capacity,
+                              @Value("${rate-limit.share.authentication:0.5}") double authenticationShare,
+                              @Value("${rate-limit.share.write:0.3}") double writeShare,
+                              @Value("${rate-limit.share.read:0.2}") double readShare,
+                              @Value("${rate-limit.guaranteed:0.5}") double guaranteedFraction) {
+        this.keyResolver = keyResolver;
+        this.backend = backend;
+        if (authenticationShare <= 0 || writeShare <= 0 || readShare <= 0) {
+            throw new IllegalArgumentException("rate-limit.share.* must be greater than 0");
+        }
+        if (guaranteedFraction < 0 || guaranteedFraction > 1) {
+            throw new IllegalArgumentException("rate-limit.guaranteed must be between 0 and 1");
+        }
+        double[] shares = new double[OPERATION_CLASSES.length];
+        shares[OperationClass.AUTHENTICATION.ordinal()] = authenticationShare;
+        shares[OperationClass.WRITE.ordinal()] = writeShare;
+        shares[OperationClass.READ.ordinal()] = readShare;
+        long guaranteed = (long) Math.floor(capacity * guaranteedFraction);
+        this.guaranteedCapacities = apportion(guaranteed, shares);
+        for (OperationClass operationClass : OPERATION_CLASSES) {
+            if (guaranteedCapacities[operationClass.ordinal()] == 0) {
+                throw new IllegalArgumentException("rate-limit.capacity " + capacity + " with rate-limit.guaranteed "
+                        + guaranteedFraction + " leaves " + operationClass + " without a guaranteed token");
+            }
+        }
+        this.sharedCapacity = capacity - guaranteed;
+        for (OperationClass operationClass : OPERATION_CLASSES) {
+            allowedTimers[operationClass.ordinal()] = decisionTimer(meterRegistry, operationClass, "allowed");
+            rejectedTimers[operationClass.ordinal()] = decisionTimer(meterRegistry, operationClass, "rejected");
+        }
     }
 
-    public boolean tryConsume() {
-        return bucket.tryConsume(1);
+    /**
+     * Charges one token to every key of the request, from the budget of the request's operation class. The charge
+     * is all or nothing: when one key is exhausted, the tokens already taken from the other keys are given back,
+     * so a rejected request costs none of its keys anything.
+     */
+    public boolean tryConsume(HttpServletRequest request) {
+        long start = System.nanoTime();
+        OperationClass operationClass = keyResolver.classify(request);
+        List<String> keys = keyResolver.resolve(request);
+        int[] chargedClasses = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            chargedClasses[i] = charge(keys.get(i), operationClass);
+            if (chargedClasses[i] < 0) {
+                for (int j = 0; j < i; j++) {
+                    refund(keys.get(j), chargedClasses[j]);
+                }
+                rejectedTimers[operationClass.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return false;
+            }
+        }
+        allowedTimers[operationClass.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return true;
+    }
+
+    // Returns the ordinal of the class whose floor paid for the token, SHARED for the pool, or -1 when neither could.
+    private int charge(String key, OperationClass operationClass) {
+        int index = operationClass.ordinal();
+        if (guaranteedCapacities[index] > 0 && backend.tryConsume(operationClass.keyPrefix() + key, guaranteedCapacities[index])) {
+            return index;
+        }
+        if (sharedCapacity > 0 && backend.tryConsume(SHARED_KEY_PREFIX + key, sharedCapacity)) {
+            return SHARED;
+        }
+        return -1;
+    }
+
+    private void refund(String key, int charged) {
+        if (charged == SHARED) {
+            backend.refund(SHARED_KEY_PREFIX + key, sharedCapacity);
+        } else {
+            backend.refund(OPERATION_CLASSES[charged].keyPrefix() + key, guaranteedCapacities[charged]);
+        }
     }
-}
 
+    long guaranteedCapacity(OperationClass operationClass) {
+        return guaranteedCapacities[operationClass.ordinal()];
+    }
+
+    long sharedCapacity() {
+        return sharedCapacity;
+    }
+
+    private static Timer decisionTimer(MeterRegistry meterRegistry, OperationClass operationClass, String outcome) {
+        return LatencyTimers.builder("rate.limit.decision")
+                .description("Time to admit or reject a request")
+                .tag("class", operationClass.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Splits {@code total} tokens in proportion to {@code shares} by largest remainder, so the parts add up to
+     * exactly {@code total} instead of rounding every class up.
+     */
+    static long[] apportion(long total, double[] shares) {
+        double sum = 0;
+        for (double share : shares) {
+            sum += share;
+        }
+        long[] parts = new long[shares.length];
+        double[] remainders = new double[shares.length];
+        long assigned = 0;
+        for (int i = 0; i < shares.length; i++) {
+            double quota = total * shares[i] / sum;
+            parts[i] = (long) Math.floor(quota);
+            remainders[i] = quota - parts[i];
+            assigned += parts[i];
+        }
+        for (long left = total - assigned; left > 0; left--) {
+            int largest = 0;
+            for (int i = 1; i < shares.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            parts[largest]++;
+            remainders[largest] = -1;
+        }
+        return parts;
+    }
+}
@@ -1,10 +1,10 @@
 package com.abc.bank.accountmanagement.service;
 
 import com.abc.bank.accountmanagement.exception.UsernameNotFoundException;
-import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.model.CustomerCredentials;
 import com.abc.bank.accountmanagement.repository.CustomerRepository;
+import com.abc.bank.accountmanagement.security.CustomerUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
@@ -19,7 +19,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Customer customer = databaseService.findCustomerByUsername(username);
-        return new User(customer.getUsername(), customer.getPassword(), new ArrayList<>());
+        CustomerCredentials credentials = databaseService.findCredentialsByUsername(username);
+        return new CustomerUserDetails(credentials.id(), credentials.username(), credentials.password(), new ArrayList<>());
     }
 }
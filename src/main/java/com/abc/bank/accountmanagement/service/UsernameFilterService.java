@@ -0,0 +1,127 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.abc.bank.accountmanagement.event.CustomerChangedEvent;
+import com.abc.bank.accountmanagement.model.CustomerUsername;
+import com.abc.bank.accountmanagement.repository.CustomerRepository;
+import com.abc.bank.accountmanagement.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a Bloom filter of every registered username so availability checks for free names can be answered
+ * without querying the database. Until the first build completes every name is reported as possibly taken.
+ * <p>
+ * Names registered on this replica are added before their INSERT; names registered on other replicas are added
+ * when their {@link CustomerChangedEvent} arrives through the change log, so for about one poll interval another
+ * replica's new name can still be reported as free. The unique index rejects it at registration either way.
+ */
+@Service
+public class UsernameFilterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameFilterService.class);
+
+    private final CustomerRepository customerRepository;
+    private final int rebuildPageSize;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private volatile long lastRebuildNanos;
+
+    public UsernameFilterService(CustomerRepository customerRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${username-filter.rebuild-page-size:5000}") int rebuildPageSize,
+                                 @Value("${username-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${username-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.customerRepository = customerRepository;
+        this.rebuildPageSize = Math.max(1, rebuildPageSize);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+
+        Gauge.builder("customer.username.filter.size", this, service -> service.filter == null ? 0 : service.filter.bitSize())
+                .description("Number of bits in the username Bloom filter")
+                .baseUnit("bits")
+                .register(meterRegistry);
+        Gauge.builder("customer.username.filter.insertions", this, service -> service.filter == null ? 0 : service.filter.insertions())
+                .description("Usernames added to the username Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("customer.username.filter.false.positive.probability", this,
+                        service -> service.filter == null ? 1.0 : service.filter.expectedFalsePositiveProbability())
+                .description("Current false positive probability of the username Bloom filter")
+                .register(meterRegistry);
+        TimeGauge.builder("customer.username.filter.rebuild.time", this, TimeUnit.NANOSECONDS, service -> service.lastRebuildNanos)
+                .description("Duration of the last username Bloom filter rebuild")
+                .register(meterRegistry);
+    }
+
+    public boolean mightContain(String username) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(normalize(username));
+    }
+
+    public void put(String username) {
+        String key = normalize(username);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        // Names saved while a rebuild is scanning the table must not be lost when the new filter is swapped in.
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(key);
+        }
+    }
+
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.getUsername() != null) {
+            put(event.getUsername());
+        }
+    }
+
+    /**
+     * Reads the usernames in keyset pages, each its own short query, so the rebuild neither holds a connection for
+     * the whole scan nor loads the whole column at once.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        BloomFilter next = new BloomFilter(Math.max(expectedInsertions, customerRepository.count() * 2), falsePositiveProbability);
+        rebuilding = next;
+        try {
+            long afterId = 0L;
+            List<CustomerUsername> page;
+            do {
+                page = customerRepository.findUsernamesByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(rebuildPageSize));
+                for (CustomerUsername customer : page) {
+                    next.put(normalize(customer.username()));
+                    afterId = customer.id();
+                }
+            } while (page.size() == rebuildPageSize);
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+        lastRebuildNanos = System.nanoTime() - start;
+        logger.info("Username filter rebuilt with {} names in {} ms", next.insertions(), TimeUnit.NANOSECONDS.toMillis(lastRebuildNanos));
+    }
+
+    // MySQL's default collation compares usernames case-insensitively and ignores trailing spaces,
+    // so the filter has to treat those spellings as the same name.
+    private static String normalize(String username) {
+        return username.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,16 +1,74 @@
 package com.abc.bank.accountmanagement.util;
 
-
-import java.security.SecureRandom;
-
+/**
+ * Builds Dutch IBANs (NLkk ABNA 0123456789) with ISO 7064 mod-97 check digits. The check digits are computed digit by
+ * digit on an int remainder, so no BigInteger or intermediate strings are created.
+ */
 public class IbanUtil {
-    private static final SecureRandom RANDOM = new SecureRandom();
+    public static final long MAX_ACCOUNT_NUMBER = 9_999_999_999L;
+
     private static final String COUNTRY_CODE = "NL";
     private static final String BANK_CODE = "ABNA";
+    private static final int ACCOUNT_NUMBER_LENGTH = 10;
+    private static final int IBAN_LENGTH = 4 + BANK_CODE.length() + ACCOUNT_NUMBER_LENGTH;
+    private static final int BANK_CODE_REMAINDER = mod97(0, BANK_CODE);
+
+    public static String toIban(long accountNumber) {
+        if (accountNumber < 0 || accountNumber > MAX_ACCOUNT_NUMBER) {
+            throw new IllegalArgumentException("Account number must have at most " + ACCOUNT_NUMBER_LENGTH + " digits");
+        }
+        char[] iban = new char[IBAN_LENGTH];
+        iban[0] = COUNTRY_CODE.charAt(0);
+        iban[1] = COUNTRY_CODE.charAt(1);
+        BANK_CODE.getChars(0, BANK_CODE.length(), iban, 4);
+
+        // Check digits are 98 minus the remainder of BBAN + country code + "00", read as one number.
+        int remainder = BANK_CODE_REMAINDER;
+        long value = accountNumber;
+        for (int i = IBAN_LENGTH - 1; i >= IBAN_LENGTH - ACCOUNT_NUMBER_LENGTH; i--) {
+            iban[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        for (int i = IBAN_LENGTH - ACCOUNT_NUMBER_LENGTH; i < IBAN_LENGTH; i++) {
+            remainder = (remainder * 10 + (iban[i] - '0')) % 97;
+        }
+        remainder = mod97(remainder, iban[0]);
+        remainder = mod97(remainder, iban[1]);
+        remainder = remainder * 100 % 97;
+
+        int checkDigits = 98 - remainder;
+        iban[2] = (char) ('0' + checkDigits / 10);
+        iban[3] = (char) ('0' + checkDigits % 10);
+        return new String(iban);
+    }
+
+    public static boolean isValid(String iban) {
+        if (iban == null || iban.length() < 5) {
+            return false;
+        }
+        int remainder = 0;
+        for (int i = 4; i < iban.length() + 4; i++) {
+            char c = iban.charAt(i % iban.length());
+            if ((c < '0' || c > '9') && (c < 'A' || c > 'Z')) {
+                return false;
+            }
+            remainder = mod97(remainder, c);
+        }
+        return remainder == 1;
+    }
+
+    private static int mod97(int remainder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            remainder = mod97(remainder, value.charAt(i));
+        }
+        return remainder;
+    }
 
-    public static String generateIban() {
-        String checkDigits = String.format("%02d", RANDOM.nextInt(100));
-        String accountNumber = String.format("%010d", RANDOM.nextInt(1000000000));
-        return COUNTRY_CODE + checkDigits + BANK_CODE + accountNumber;
+    // Digits count as themselves, letters as 10 (A) to 35 (Z).
+    private static int mod97(int remainder, char c) {
+        if (c >= '0' && c <= '9') {
+            return (remainder * 10 + (c - '0')) % 97;
+        }
+        return (remainder * 100 + (c - 'A' + 10)) % 97;
     }
 }
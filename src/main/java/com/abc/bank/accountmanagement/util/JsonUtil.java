@@ -3,11 +3,12 @@ package com.abc.bank.accountmanagement.util;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class JsonUtil {
+    // ObjectMapper is thread-safe once configured; building one per call re-creates its serializer caches every time.
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     public static String asJsonString(final Object obj) {
         try {
-            final ObjectMapper mapper = new ObjectMapper();
-            final String jsonContent = mapper.writeValueAsString(obj);
-            return jsonContent;
+            return MAPPER.writeValueAsString(obj);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,20 @@
+package com.abc.bank.accountmanagement.util;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Common shape of the latency timers: client-side p50/p95/p99/p99.9 from Micrometer's HdrHistogram-based
+ * recorder, so every timer is published with the same quantiles on /actuator/prometheus.
+ */
+public final class LatencyTimers {
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99, 0.999};
+
+    private LatencyTimers() {
+    }
+
+    public static Timer.Builder builder(String name) {
+        return Timer.builder(name)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(2);
+    }
+}
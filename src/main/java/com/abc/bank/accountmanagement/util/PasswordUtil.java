@@ -1,9 +1,18 @@
 package com.abc.bank.accountmanagement.util;
 
+import java.security.SecureRandom;
+
 public class PasswordUtil {
-    private static final String DEFAULT_PASSWORD = "defaultPassword123";
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // Without look-alike characters (0/O, 1/l/I) so customers can type the password from a letter.
+    private static final char[] ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz23456789!#$%&*+-=?@".toCharArray();
+    private static final int PASSWORD_LENGTH = 16;
 
-    public static String generateDefaultPassword() {
-        return DEFAULT_PASSWORD;
+    public static String generatePassword() {
+        char[] password = new char[PASSWORD_LENGTH];
+        for (int i = 0; i < PASSWORD_LENGTH; i++) {
+            password[i] = ALPHABET[RANDOM.nextInt(ALPHABET.length)];
+        }
+        return new String(password);
     }
 }
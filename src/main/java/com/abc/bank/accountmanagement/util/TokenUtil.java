@@ -1,11 +1,81 @@
 package com.abc.bank.accountmanagement.util;
 
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
+/**
+ * Session tokens are the URL-safe Base64 encoding of a 16 byte payload (customer id and expiry in epoch seconds,
+ * both big-endian) followed by its 32 byte HMAC-SHA256 signature.
+ */
 public class TokenUtil {
-    public static String generateToken(String username, String password) {
-        String credentials = username + ":" + password;
-        return Base64.getEncoder().encodeToString(credentials.getBytes());
+    public static final long INVALID_TOKEN = -1L;
+
+    private static final int PAYLOAD_LENGTH = 16;
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int TOKEN_LENGTH = 64;
+
+    public static String generateToken(long customerId, long expiresAtEpochSecond, Mac mac) {
+        byte[] token = new byte[PAYLOAD_LENGTH + SIGNATURE_LENGTH];
+        writeLong(token, 0, customerId);
+        writeLong(token, 8, expiresAtEpochSecond);
+        mac.update(token, 0, PAYLOAD_LENGTH);
+        try {
+            mac.doFinal(token, PAYLOAD_LENGTH);
+        } catch (ShortBufferException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Returns the customer id carried by a token whose signature is valid and which has not expired,
+     * or {@link #INVALID_TOKEN} otherwise. {@code scratch} must hold at least 80 bytes and is overwritten.
+     */
+    public static long verifyToken(String token, long nowEpochSecond, Mac mac, byte[] scratch) {
+        if (token == null || token.length() != TOKEN_LENGTH) {
+            return INVALID_TOKEN;
+        }
+        int decoded;
+        try {
+            decoded = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.ISO_8859_1), scratch);
+        } catch (IllegalArgumentException exception) {
+            return INVALID_TOKEN;
+        }
+        if (decoded != PAYLOAD_LENGTH + SIGNATURE_LENGTH) {
+            return INVALID_TOKEN;
+        }
+
+        int expected = PAYLOAD_LENGTH + SIGNATURE_LENGTH;
+        mac.update(scratch, 0, PAYLOAD_LENGTH);
+        try {
+            mac.doFinal(scratch, expected);
+        } catch (ShortBufferException exception) {
+            throw new IllegalStateException(exception);
+        }
+        int difference = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            difference |= scratch[PAYLOAD_LENGTH + i] ^ scratch[expected + i];
+        }
+        if (difference != 0 || readLong(scratch, 8) <= nowEpochSecond) {
+            return INVALID_TOKEN;
+        }
+        return readLong(scratch, 0);
+    }
+
+    private static void writeLong(byte[] target, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            target[offset + i] = (byte) value;
+            value >>>= 8;
+        }
     }
-}
 
+    private static long readLong(byte[] source, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (source[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
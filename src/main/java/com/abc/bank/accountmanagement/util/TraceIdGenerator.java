@@ -0,0 +1,109 @@
+package com.abc.bank.accountmanagement.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trace and span ids in the W3C Trace Context format: 32 and 16 lowercase hex characters, never all zeros.
+ * Randomness comes from {@link ThreadLocalRandom}, so unlike {@code UUID.randomUUID()} request threads do not
+ * contend on a shared {@code SecureRandom}. Trace ids only need to be unique, not unpredictable.
+ */
+public final class TraceIdGenerator {
+    public static final int TRACE_ID_LENGTH = 32;
+    public static final int SPAN_ID_LENGTH = 16;
+    public static final int MAX_CLIENT_TRACE_ID_LENGTH = 64;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String VERSION = "00";
+    private static final String SAMPLED = "01";
+    private static final int TRACEPARENT_LENGTH = 2 + 1 + TRACE_ID_LENGTH + 1 + SPAN_ID_LENGTH + 1 + 2;
+
+    private TraceIdGenerator() {
+    }
+
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0);
+        char[] chars = new char[TRACE_ID_LENGTH];
+        writeHex(high, chars, 0);
+        writeHex(low, chars, 16);
+        return new String(chars);
+    }
+
+    public static String newSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == 0);
+        char[] chars = new char[SPAN_ID_LENGTH];
+        writeHex(id, chars, 0);
+        return new String(chars);
+    }
+
+    public static String traceparent(String traceId, String spanId) {
+        return VERSION + '-' + traceId + '-' + spanId + '-' + SAMPLED;
+    }
+
+    /**
+     * Returns the trace id of a well-formed {@code traceparent} header, or null for anything else.
+     */
+    public static String traceIdFromTraceparent(String traceparent) {
+        if (traceparent == null || traceparent.length() != TRACEPARENT_LENGTH
+                || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-'
+                || traceparent.startsWith("ff")) {
+            return null;
+        }
+        String traceId = traceparent.substring(3, 35);
+        if (!isHexId(traceparent, 0, 2) || !isTraceId(traceId) || !isHexId(traceparent, 36, 52) || !isHexId(traceparent, 53, 55)) {
+            return null;
+        }
+        return traceId;
+    }
+
+    /**
+     * Whether a caller-supplied {@code Trace-Id} may be reused: 1 to {@value #MAX_CLIENT_TRACE_ID_LENGTH} letters,
+     * digits, dots, dashes or underscores. Anything else could break log lines, headers or error bodies and is
+     * replaced by a generated id.
+     */
+    public static boolean isAcceptableTraceId(String traceId) {
+        if (traceId == null || traceId.isEmpty() || traceId.length() > MAX_CLIENT_TRACE_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < traceId.length(); i++) {
+            char c = traceId.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'z') && (c < 'A' || c > 'Z') && c != '-' && c != '_' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isTraceId(String traceId) {
+        return traceId != null && traceId.length() == TRACE_ID_LENGTH && isHexId(traceId, 0, TRACE_ID_LENGTH);
+    }
+
+    // Lowercase hex; the ids must not be all zeros, the two-character version and flags fields may.
+    private static boolean isHexId(String value, int from, int to) {
+        boolean allZeros = true;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+            allZeros &= c == '0';
+        }
+        return !allZeros || to - from <= 2;
+    }
+
+    private static void writeHex(long value, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
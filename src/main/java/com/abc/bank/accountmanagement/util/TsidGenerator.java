@@ -0,0 +1,56 @@
+package com.abc.bank.accountmanagement.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates 63-bit, time-ordered ids without coordination: 41 bits of milliseconds since 2024-01-01T00:00Z,
+ * 10 bits of node id and a 12 bit counter, which allows 4096 ids per millisecond per node.
+ * <p>
+ * Time and counter are kept together in one {@link AtomicLong} and advanced with compare-and-set to
+ * {@code max(now, last + 1)}. When the counter overflows within a millisecond, or the clock moves backwards, ids keep
+ * increasing from the last one issued instead of blocking or repeating; the embedded time simply runs slightly ahead
+ * until the wall clock catches up.
+ */
+public class TsidGenerator {
+    public static final int NODE_BITS = 10;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    public static final long EPOCH_MILLIS = 1704067200000L;
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+    private final AtomicLong last = new AtomicLong();
+
+    public TsidGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public TsidGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.node = (long) nodeId << COUNTER_BITS;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        long candidate;
+        long previous;
+        do {
+            previous = last.get();
+            candidate = Math.max((clock.getAsLong() - EPOCH_MILLIS) << COUNTER_BITS, previous + 1);
+        } while (!last.compareAndSet(previous, candidate));
+        return ((candidate >>> COUNTER_BITS) << (NODE_BITS + COUNTER_BITS)) | node | (candidate & COUNTER_MASK);
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + COUNTER_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeId(long id) {
+        return (int) ((id >>> COUNTER_BITS) & MAX_NODE_ID);
+    }
+}
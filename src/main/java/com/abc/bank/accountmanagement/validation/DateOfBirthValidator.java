@@ -3,13 +3,30 @@ package com.abc.bank.accountmanagement.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.ZonedDateTime;
 
+/**
+ * Accepts a strict {@code yyyy-MM-dd} date before today. The date is parsed in place instead of with
+ * {@code LocalDate.parse}, so malformed input is rejected without throwing and validation allocates nothing.
+ * Today's date is cached and only recomputed once the clock passes midnight.
+ */
 public class DateOfBirthValidator implements ConstraintValidator<ValidDateOfBirth, String> {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int DATE_LENGTH = 10;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    private final Clock clock;
+    private volatile Today today;
+
+    public DateOfBirthValidator() {
+        this(Clock.systemDefaultZone());
+    }
+
+    DateOfBirthValidator(Clock clock) {
+        this.clock = clock;
+    }
 
     @Override
     public void initialize(ValidDateOfBirth constraintAnnotation) {
@@ -17,15 +34,70 @@ public class DateOfBirthValidator implements ConstraintValidator<ValidDateOfBirt
 
     @Override
     public boolean isValid(String dateOfBirth, ConstraintValidatorContext context) {
-        if (dateOfBirth == null || dateOfBirth.isBlank()) {
+        if (dateOfBirth == null || dateOfBirth.length() != DATE_LENGTH
+                || dateOfBirth.charAt(4) != '-' || dateOfBirth.charAt(7) != '-') {
             return false;
         }
-        try {
-            LocalDate date = LocalDate.parse(dateOfBirth, DATE_FORMATTER);
-            return date.isBefore(LocalDate.now());
-        } catch (DateTimeParseException e) {
+        int year = digits(dateOfBirth, 0, 4);
+        int month = digits(dateOfBirth, 5, 7);
+        int day = digits(dateOfBirth, 8, 10);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
             return false;
         }
+        return epochDay(year, month, day) < todayEpochDay();
+    }
+
+    /** Returns the decimal value of {@code value[from, to)}, or -1 if any character is not an ASCII digit. */
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
     }
-}
 
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /** Same arithmetic as {@link LocalDate#toEpochDay()}, without creating the {@code LocalDate}. */
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private long todayEpochDay() {
+        Today current = today;
+        if (current == null || clock.millis() >= current.nextMidnightMillis()) {
+            ZonedDateTime now = ZonedDateTime.now(clock);
+            LocalDate date = now.toLocalDate();
+            current = new Today(date.toEpochDay(),
+                    date.plusDays(1).atStartOfDay(now.getZone()).toInstant().toEpochMilli());
+            today = current;
+        }
+        return current.epochDay();
+    }
+
+    private record Today(long epochDay, long nextMidnightMillis) {
+    }
+}
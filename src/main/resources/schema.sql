@@ -0,0 +1,25 @@
+-- Tables used through plain JDBC, next to the JPA-managed customer table. Run at every startup
+-- (spring.sql.init.mode=always), so each statement must be idempotent and valid on MySQL and H2.
+
+CREATE TABLE IF NOT EXISTS iban_sequence (
+    sequence_name VARCHAR(64) NOT NULL,
+    next_value BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+);
+
+CREATE TABLE IF NOT EXISTS rate_limit_bucket (
+    bucket_key VARCHAR(128) NOT NULL,
+    tokens BIGINT NOT NULL,
+    refilled_at BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (bucket_key)
+);
+
+CREATE TABLE IF NOT EXISTS customer_change_log (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    customer_id BIGINT,
+    username VARCHAR(255) NOT NULL,
+    origin VARCHAR(36) NOT NULL,
+    changed_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,37 @@
+package com.abc.bank.accountmanagement.reactive;
+
+import com.abc.bank.accountmanagement.model.TsidIdentifierGenerator;
+import com.abc.bank.accountmanagement.security.TokenService;
+import com.abc.bank.accountmanagement.service.InitialPasswordPool;
+import com.abc.bank.accountmanagement.util.TsidGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Entry point of the WebFlux + R2DBC variant. Scans only this package and reuses the stack-neutral beans of the
+ * servlet application. Every bean here is limited to the {@code reactive} profile, so the servlet application, whose
+ * component scan covers this package too, ignores them.
+ */
+@SpringBootApplication
+@Profile(ReactiveAccountManagementApplication.PROFILE)
+@Import({InitialPasswordPool.class, TokenService.class})
+public class ReactiveAccountManagementApplication {
+    public static final String PROFILE = "reactive";
+
+    @Bean
+    public TsidGenerator tsidGenerator(@Value("${tsid.node-id:}") String nodeId) {
+        return new TsidGenerator(TsidIdentifierGenerator.parseNodeId(nodeId));
+    }
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveAccountManagementApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles(PROFILE);
+        application.run(args);
+    }
+}
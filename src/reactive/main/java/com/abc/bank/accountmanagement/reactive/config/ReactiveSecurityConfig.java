@@ -0,0 +1,87 @@
+package com.abc.bank.accountmanagement.reactive.config;
+
+import com.abc.bank.accountmanagement.security.TimedPasswordEncoder;
+import com.abc.bank.accountmanagement.security.TokenService;
+import com.abc.bank.accountmanagement.util.TokenUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Accepts the session tokens issued by the servlet deployment's /api/logon, from the token cookie or a Bearer
+ * header. Verification is the same single HMAC as in {@code TokenAuthenticationFilter}, so both stacks can serve the
+ * same clients as long as they share {@code security.token.secret}.
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Value("${security.whitelist}")
+    private String[] whitelist;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, TokenService tokenService) {
+        // The converter already verifies the token; an invalid one leaves the request anonymous, as in the servlet
+        // filter, so whitelisted endpoints keep working with a stale cookie.
+        ReactiveAuthenticationManager verified = Mono::just;
+        AuthenticationWebFilter tokenFilter = new AuthenticationWebFilter(verified);
+        tokenFilter.setServerAuthenticationConverter(exchange -> {
+            String token = resolveToken(exchange.getRequest().getHeaders(),
+                    exchange.getRequest().getCookies().getFirst(TokenService.TOKEN_COOKIE));
+            long customerId = token == null ? TokenUtil.INVALID_TOKEN : tokenService.verifyToken(token);
+            if (customerId == TokenUtil.INVALID_TOKEN) {
+                return Mono.empty();
+            }
+            return Mono.just(UsernamePasswordAuthenticationToken.authenticated(customerId, null, AuthorityUtils.NO_AUTHORITIES));
+        });
+        tokenFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers(whitelist).permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(tokenFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    private static String resolveToken(HttpHeaders headers, HttpCookie cookie) {
+        String authorization = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length());
+        }
+        return cookie == null ? null : cookie.getValue();
+    }
+}
@@ -0,0 +1,48 @@
+package com.abc.bank.accountmanagement.reactive.config;
+
+import com.abc.bank.accountmanagement.config.TraceIdFilter;
+import com.abc.bank.accountmanagement.util.TraceIdGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link TraceIdFilter}. A request may hop between threads, so the trace id is kept as an
+ * exchange attribute and in the Reactor context instead of the MDC.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceIdWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String traceId = headers.getFirst(TraceIdFilter.TRACE_ID_HEADER);
+        if (!TraceIdGenerator.isAcceptableTraceId(traceId)) {
+            traceId = TraceIdGenerator.traceIdFromTraceparent(headers.getFirst(TraceIdFilter.TRACEPARENT_HEADER));
+            if (traceId == null) {
+                traceId = TraceIdGenerator.newTraceId();
+            }
+        }
+        exchange.getAttributes().put(TraceIdFilter.TRACE_ID_HEADER, traceId);
+        HttpHeaders responseHeaders = exchange.getResponse().getHeaders();
+        responseHeaders.set(TraceIdFilter.TRACE_ID_HEADER, traceId);
+        if (TraceIdGenerator.isTraceId(traceId)) {
+            responseHeaders.set(TraceIdFilter.TRACEPARENT_HEADER, TraceIdGenerator.traceparent(traceId, TraceIdGenerator.newSpanId()));
+        }
+        String contextTraceId = traceId;
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(TraceIdFilter.TRACE_ID_HEADER, contextTraceId));
+    }
+
+    public static String traceId(ServerWebExchange exchange) {
+        return exchange.getAttribute(TraceIdFilter.TRACE_ID_HEADER);
+    }
+}
@@ -0,0 +1,48 @@
+package com.abc.bank.accountmanagement.reactive.controller;
+
+import com.abc.bank.accountmanagement.dto.CustomerOverviewPageResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.reactive.service.ReactiveCustomerService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@code CustomerController} for the registration and overview flows, with the same paths,
+ * DTOs and error bodies.
+ */
+@RestController
+@RequestMapping("/api")
+@AllArgsConstructor
+@Profile("reactive")
+public class ReactiveCustomerController {
+
+    private final ReactiveCustomerService customerService;
+
+    @PostMapping("/register")
+    public Mono<CustomerRegistrationResponseDTO> register(@Valid @RequestBody CustomerRegistrationRequestDTO customerRegistrationRequestDTO) {
+        return customerService.register(customerRegistrationRequestDTO);
+    }
+
+    @GetMapping(path = "/overview")
+    public Mono<CustomerOverviewPageResponseDTO> checkUsers(@RequestParam(value = "after", required = false) Long after,
+                                                            @RequestParam(value = "limit", required = false) Integer limit) {
+        return customerService.getPage(after, limit);
+    }
+
+    @GetMapping(path = "/overview/stream", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CustomerOverviewResponseDTO> streamUsers() {
+        return customerService.streamAll();
+    }
+}
@@ -0,0 +1,64 @@
+package com.abc.bank.accountmanagement.reactive.exception;
+
+import com.abc.bank.accountmanagement.exception.ErrorResponse;
+import com.abc.bank.accountmanagement.exception.GlobalExceptionHandler;
+import com.abc.bank.accountmanagement.exception.InvalidRequestException;
+import com.abc.bank.accountmanagement.exception.UsernameAlreadyExistsException;
+import com.abc.bank.accountmanagement.exception.ValidationError;
+import com.abc.bank.accountmanagement.reactive.config.TraceIdWebFilter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Same status codes and bodies as {@link GlobalExceptionHandler}; the trace id comes from the exchange because
+ * the MDC is not carried across reactive operators.
+ */
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException exception, ServerWebExchange exchange) {
+        List<ValidationError> validationErrors = exception.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(fieldError -> new ValidationError(fieldError.getField(), fieldError.getDefaultMessage()))
+                .collect(Collectors.toList());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                TraceIdWebFilter.traceId(exchange),
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation failed",
+                validationErrors
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(InvalidRequestException exception, ServerWebExchange exchange) {
+        ErrorResponse errorResponse = new ErrorResponse(TraceIdWebFilter.traceId(exchange), HttpStatus.BAD_REQUEST.value(), exception.getMessage(), null);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UsernameAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleUsernameAlreadyExistsException(UsernameAlreadyExistsException exception, ServerWebExchange exchange) {
+        ErrorResponse errorResponse = new ErrorResponse(TraceIdWebFilter.traceId(exchange), HttpStatus.CONFLICT.value(), exception.getMessage(), null);
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException exception, ServerWebExchange exchange) {
+        ErrorResponse errorResponse = new ErrorResponse(TraceIdWebFilter.traceId(exchange), HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is busy - please try again later", null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
+    }
+}
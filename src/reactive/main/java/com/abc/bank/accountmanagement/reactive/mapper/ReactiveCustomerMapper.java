@@ -0,0 +1,26 @@
+package com.abc.bank.accountmanagement.reactive.mapper;
+
+import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.reactive.model.CustomerRow;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface ReactiveCustomerMapper {
+    ReactiveCustomerMapper INSTANCE = Mappers.getMapper(ReactiveCustomerMapper.class);
+
+    CustomerRegistrationResponseDTO toCustomerRegistrationResponseDTO(CustomerRow customer);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "idDocument", source = "idDocumentNumber")
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "iban", ignore = true)
+    @Mapping(target = "newRow", ignore = true)
+    CustomerRow toCustomerRow(CustomerRegistrationRequestDTO customerRegistrationRequestDTO);
+
+    @Mapping(target = "password", ignore = true)
+    CustomerOverviewResponseDTO customerRowToCustomerOverviewResponseDTO(CustomerRow customer);
+}
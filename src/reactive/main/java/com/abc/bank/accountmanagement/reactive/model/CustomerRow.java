@@ -0,0 +1,47 @@
+package com.abc.bank.accountmanagement.reactive.model;
+
+import com.abc.bank.accountmanagement.model.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code customer} table owned by the JPA entity {@link Customer}. Ids are TSIDs assigned
+ * before the INSERT, so new rows say so through {@link Persistable} instead of relying on a null id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("customer")
+public class CustomerRow implements Persistable<Long> {
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String address;
+
+    private String dateOfBirth;
+
+    private String idDocument;
+
+    private String username;
+
+    private String password;
+
+    private String iban;
+
+    @Transient
+    private boolean newRow;
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+}
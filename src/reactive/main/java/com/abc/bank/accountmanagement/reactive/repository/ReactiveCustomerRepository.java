@@ -0,0 +1,19 @@
+package com.abc.bank.accountmanagement.reactive.repository;
+
+import com.abc.bank.accountmanagement.reactive.model.CustomerRow;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+@Profile("reactive")
+public interface ReactiveCustomerRepository extends R2dbcRepository<CustomerRow, Long> {
+
+    @Query("SELECT * FROM customer WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<CustomerRow> findPage(long afterId, int limit);
+
+    @Query("SELECT * FROM customer ORDER BY id")
+    Flux<CustomerRow> findAllOrderById();
+}
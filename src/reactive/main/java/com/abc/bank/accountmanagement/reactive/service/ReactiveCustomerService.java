@@ -0,0 +1,16 @@
+package com.abc.bank.accountmanagement.reactive.service;
+
+import com.abc.bank.accountmanagement.dto.CustomerOverviewPageResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationResponseDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCustomerService {
+    Mono<CustomerRegistrationResponseDTO> register(CustomerRegistrationRequestDTO customerRegistrationRequestDTO);
+
+    Mono<CustomerOverviewPageResponseDTO> getPage(Long after, Integer limit);
+
+    Flux<CustomerOverviewResponseDTO> streamAll();
+}
@@ -0,0 +1,106 @@
+package com.abc.bank.accountmanagement.reactive.service;
+
+import com.abc.bank.accountmanagement.dto.CustomerOverviewPageResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.exception.UsernameAlreadyExistsException;
+import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.reactive.mapper.ReactiveCustomerMapper;
+import com.abc.bank.accountmanagement.reactive.model.CustomerRow;
+import com.abc.bank.accountmanagement.reactive.repository.ReactiveCustomerRepository;
+import com.abc.bank.accountmanagement.service.InitialPasswordPool;
+import com.abc.bank.accountmanagement.service.InitialPasswordPool.InitialPassword;
+import com.abc.bank.accountmanagement.util.TsidGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@Profile("reactive")
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+    private final ReactiveCustomerRepository customerRepository;
+    private final ReactiveIbanAllocator ibanAllocator;
+    private final InitialPasswordPool initialPasswordPool;
+    private final TsidGenerator tsidGenerator;
+    private final int defaultPageLimit;
+    private final int maxPageLimit;
+
+    public ReactiveCustomerServiceImpl(ReactiveCustomerRepository customerRepository,
+                                       ReactiveIbanAllocator ibanAllocator,
+                                       InitialPasswordPool initialPasswordPool,
+                                       TsidGenerator tsidGenerator,
+                                       @Value("${overview.page.default-limit:100}") int defaultPageLimit,
+                                       @Value("${overview.page.max-limit:1000}") int maxPageLimit) {
+        this.customerRepository = customerRepository;
+        this.ibanAllocator = ibanAllocator;
+        this.initialPasswordPool = initialPasswordPool;
+        this.tsidGenerator = tsidGenerator;
+        this.defaultPageLimit = defaultPageLimit;
+        this.maxPageLimit = maxPageLimit;
+    }
+
+    public Mono<CustomerRegistrationResponseDTO> register(CustomerRegistrationRequestDTO customerRegistrationRequestDTO) {
+        // Taking the initial password may fall back to BCrypt, which must not run on an event-loop thread.
+        return Mono.fromCallable(initialPasswordPool::take)
+                .subscribeOn(Schedulers.boundedElastic())
+                .zipWith(ibanAllocator.nextIban())
+                .flatMap(passwordAndIban -> {
+                    InitialPassword initialPassword = passwordAndIban.getT1();
+                    CustomerRow customer = ReactiveCustomerMapper.INSTANCE.toCustomerRow(customerRegistrationRequestDTO);
+                    customer.setId(tsidGenerator.nextId());
+                    customer.setPassword(initialPassword.hash());
+                    customer.setIban(passwordAndIban.getT2());
+                    customer.setNewRow(true);
+                    return customerRepository.save(customer)
+                            .onErrorMap(DataIntegrityViolationException.class, ReactiveCustomerServiceImpl::translate)
+                            .map(savedCustomer -> {
+                                savedCustomer.setPassword(initialPassword.password());
+                                return ReactiveCustomerMapper.INSTANCE.toCustomerRegistrationResponseDTO(savedCustomer);
+                            });
+                });
+    }
+
+    public Mono<CustomerOverviewPageResponseDTO> getPage(Long after, Integer limit) {
+        long afterId = after == null ? 0L : after;
+        int pageLimit = limit == null ? defaultPageLimit : Math.max(1, Math.min(limit, maxPageLimit));
+
+        // Fetch one extra row to find out whether another page follows without issuing a count query.
+        return customerRepository.findPage(afterId, pageLimit + 1)
+                .collectList()
+                .map(customers -> {
+                    Long nextCursor = null;
+                    List<CustomerRow> page = customers;
+                    if (customers.size() > pageLimit) {
+                        page = customers.subList(0, pageLimit);
+                        nextCursor = page.get(pageLimit - 1).getId();
+                    }
+                    return CustomerOverviewPageResponseDTO.builder()
+                            .customers(page.stream()
+                                    .map(ReactiveCustomerMapper.INSTANCE::customerRowToCustomerOverviewResponseDTO)
+                                    .toList())
+                            .nextCursor(nextCursor)
+                            .build();
+                });
+    }
+
+    public Flux<CustomerOverviewResponseDTO> streamAll() {
+        return customerRepository.findAllOrderById()
+                .map(ReactiveCustomerMapper.INSTANCE::customerRowToCustomerOverviewResponseDTO);
+    }
+
+    private static Throwable translate(DataIntegrityViolationException exception) {
+        String message = exception.getMostSpecificCause().getMessage();
+        if (message != null && message.toLowerCase(Locale.ROOT).contains(Customer.USERNAME_UNIQUE_INDEX)) {
+            return new UsernameAlreadyExistsException("Username already exists");
+        }
+        return exception;
+    }
+}
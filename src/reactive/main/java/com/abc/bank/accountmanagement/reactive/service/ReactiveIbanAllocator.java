@@ -0,0 +1,119 @@
+package com.abc.bank.accountmanagement.reactive.service;
+
+import com.abc.bank.accountmanagement.service.IbanAllocator;
+import com.abc.bank.accountmanagement.util.IbanUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking counterpart of {@link IbanAllocator} on the same {@code iban_sequence} row, so both stacks can
+ * allocate from one database side by side. Concurrent callers that find the block exhausted share a single
+ * reservation instead of each reserving a block of their own.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveIbanAllocator {
+    private static final String SELECT_SQL = "SELECT next_value FROM iban_sequence WHERE sequence_name = :name";
+    private static final String INSERT_SQL = "INSERT INTO iban_sequence (sequence_name, next_value) VALUES (:name, :next)";
+    private static final String UPDATE_SQL = "UPDATE iban_sequence SET next_value = :end WHERE sequence_name = :name AND next_value = :start";
+
+    private final DatabaseClient databaseClient;
+    private final long blockSize;
+    private volatile Block block = new Block(0, 0);
+    private Mono<Void> pendingReservation;
+
+    public ReactiveIbanAllocator(DatabaseClient databaseClient, @Value("${iban.block-size:1000}") long blockSize) {
+        this.databaseClient = databaseClient;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public Mono<String> nextIban() {
+        return nextAccountNumber().map(IbanUtil::toIban);
+    }
+
+    Mono<Long> nextAccountNumber() {
+        return Mono.defer(() -> {
+            Block current = block;
+            long accountNumber = current.next.getAndIncrement();
+            if (accountNumber < current.end) {
+                return Mono.just(accountNumber);
+            }
+            return replace(current).then(nextAccountNumber());
+        });
+    }
+
+    private synchronized Mono<Void> replace(Block exhausted) {
+        if (block != exhausted) {
+            return Mono.empty();
+        }
+        if (pendingReservation == null) {
+            pendingReservation = reserveBlock()
+                    .doOnNext(reserved -> installBlock(reserved))
+                    .doOnError(failure -> installBlock(null))
+                    .then()
+                    .cache();
+        }
+        return pendingReservation;
+    }
+
+    private synchronized void installBlock(Block reserved) {
+        if (reserved != null) {
+            block = reserved;
+        }
+        pendingReservation = null;
+    }
+
+    private Mono<Block> reserveBlock() {
+        // Every attempt completes empty when another instance won the race, and is then retried with a fresh read.
+        return Mono.defer(() -> databaseClient.sql(SELECT_SQL)
+                        .bind("name", IbanAllocator.SEQUENCE_NAME)
+                        .map(row -> row.get("next_value", Long.class))
+                        .one()
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(current -> current.isPresent() ? claim(current.get()) : createSequence()))
+                .repeatWhenEmpty(attempts -> attempts);
+    }
+
+    private Mono<Block> createSequence() {
+        long start = IbanAllocator.FIRST_ACCOUNT_NUMBER;
+        return databaseClient.sql(INSERT_SQL)
+                .bind("name", IbanAllocator.SEQUENCE_NAME)
+                .bind("next", start + blockSize)
+                .then()
+                .thenReturn(new Block(start, start + blockSize))
+                .onErrorResume(DataIntegrityViolationException.class, exception -> Mono.empty());
+    }
+
+    private Mono<Block> claim(long start) {
+        long end = Math.min(start + blockSize, IbanUtil.MAX_ACCOUNT_NUMBER + 1);
+        if (start >= end) {
+            return Mono.error(new IllegalStateException("All IBAN account numbers have been allocated"));
+        }
+        return databaseClient.sql(UPDATE_SQL)
+                .bind("end", end)
+                .bind("name", IbanAllocator.SEQUENCE_NAME)
+                .bind("start", start)
+                .fetch()
+                .rowsUpdated()
+                .filter(updated -> updated == 1)
+                .map(updated -> new Block(start, end));
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
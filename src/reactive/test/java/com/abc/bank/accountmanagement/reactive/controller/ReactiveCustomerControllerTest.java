@@ -0,0 +1,145 @@
+package com.abc.bank.accountmanagement.reactive.controller;
+
+import com.abc.bank.accountmanagement.config.TraceIdFilter;
+import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
+import com.abc.bank.accountmanagement.reactive.ReactiveAccountManagementApplication;
+import com.abc.bank.accountmanagement.security.TokenService;
+import com.abc.bank.accountmanagement.util.IbanUtil;
+import com.abc.bank.accountmanagement.util.TraceIdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the reactive variant end to end against an in-memory R2DBC H2 database in MySQL mode. The application class is
+ * named explicitly: its {@code @Profile} hides it from the configuration search, which would otherwise boot the
+ * servlet application with its MVC security next to WebFlux security.
+ */
+@SpringBootTest(classes = ReactiveAccountManagementApplication.class, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:schema.sql,classpath:reactive-schema.sql",
+        "tsid.node-id=1",
+        "initial-password.pool-size=10",
+        "initial-password.hash-threads=1"
+})
+@AutoConfigureWebTestClient
+@ActiveProfiles(ReactiveAccountManagementApplication.PROFILE)
+class ReactiveCustomerControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    TokenService tokenService;
+
+    @Test
+    @DisplayName("Registration returns the initial password and a valid IBAN")
+    void testRegister() {
+        register(request("reactive1"))
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("reactive1")
+                .jsonPath("$.password").value(password -> assertEquals(16, ((String) password).length()))
+                .jsonPath("$.iban").value(iban -> assertTrue(IbanUtil.isValid((String) iban)));
+    }
+
+    @Test
+    @DisplayName("A taken username is reported as 409 with the caller's trace id")
+    void testRegisterDuplicateUsername() {
+        register(request("reactive2")).expectStatus().isOk();
+
+        webTestClient.post().uri("/api/register")
+                .header(TraceIdFilter.TRACE_ID_HEADER, "trace-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("reactive2"))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectHeader().valueEquals(TraceIdFilter.TRACE_ID_HEADER, "trace-123")
+                .expectBody()
+                .jsonPath("$.traceId").isEqualTo("trace-123")
+                .jsonPath("$.status").isEqualTo(409)
+                .jsonPath("$.message").isEqualTo("Username already exists");
+    }
+
+    @Test
+    @DisplayName("A malformed Trace-Id header is replaced by a generated id")
+    void testMalformedTraceId() {
+        webTestClient.get().uri("/api/overview")
+                .header(TraceIdFilter.TRACE_ID_HEADER, "x".repeat(TraceIdGenerator.MAX_CLIENT_TRACE_ID_LENGTH + 1))
+                .exchange()
+                .expectHeader().value(TraceIdFilter.TRACE_ID_HEADER, traceId -> assertTrue(TraceIdGenerator.isTraceId(traceId)));
+    }
+
+    @Test
+    @DisplayName("An invalid request is rejected with the servlet stack's validation body")
+    void testRegisterInvalidRequest() {
+        CustomerRegistrationRequestDTO request = request("reactive3");
+        request.setName("");
+
+        register(request)
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.traceId").exists()
+                .jsonPath("$.message").isEqualTo("Validation failed")
+                .jsonPath("$.errors[0].field").isEqualTo("name");
+    }
+
+    @Test
+    @DisplayName("The overview requires a session token")
+    void testOverviewUnauthorized() {
+        webTestClient.get().uri("/api/overview")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("The overview pages and streams customers for a valid session token")
+    void testOverview() {
+        register(request("reactive4")).expectStatus().isOk();
+        String token = tokenService.generateToken(1L);
+
+        webTestClient.get().uri("/api/overview?limit=1000")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.customers[?(@.username == 'reactive4')].password").isEqualTo("******");
+
+        webTestClient.get().uri("/api/overview/stream")
+                .cookie(TokenService.TOKEN_COOKIE, token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+    }
+
+    private WebTestClient.ResponseSpec register(CustomerRegistrationRequestDTO request) {
+        return webTestClient.post().uri("/api/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange();
+    }
+
+    private static CustomerRegistrationRequestDTO request(String username) {
+        return CustomerRegistrationRequestDTO.builder()
+                .name("John Doe")
+                .address("123 Main St")
+                .dateOfBirth("1990-01-01")
+                .idDocumentNumber("123456789")
+                .username(username)
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS customer (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(255),
+    address VARCHAR(255),
+    date_of_birth VARCHAR(255),
+    id_document VARCHAR(255),
+    username VARCHAR(255),
+    password VARCHAR(255),
+    iban VARCHAR(255),
+    CONSTRAINT ux_customer_username UNIQUE (username),
+    CONSTRAINT ux_customer_iban UNIQUE (iban)
+);
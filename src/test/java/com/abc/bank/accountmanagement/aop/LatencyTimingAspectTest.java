@@ -0,0 +1,58 @@
+package com.abc.bank.accountmanagement.aop;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LatencyTimingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LatencyTimingAspect aspect = new LatencyTimingAspect(meterRegistry);
+
+    @Test
+    @DisplayName("Calls are recorded per layer and method, including failed ones, with the published percentiles")
+    void testRecordsLatency() throws Throwable {
+        Method method = Object.class.getMethod("toString");
+        ProceedingJoinPoint joinPoint = joinPoint(method);
+        when(joinPoint.proceed()).thenReturn("ok").thenThrow(new IllegalStateException("boom"));
+
+        assertEquals("ok", aspect.timeService(joinPoint));
+        assertThrows(IllegalStateException.class, () -> aspect.timeService(joinPoint));
+
+        Timer timer = meterRegistry.get(LatencyTimingAspect.TIMER_NAME)
+                .tag("layer", "service")
+                .tag("class", "Object")
+                .tag("method", "toString")
+                .timer();
+        assertEquals(2, timer.count());
+        ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+        assertEquals(4, percentiles.length);
+        assertEquals(0.999, percentiles[3].percentile());
+    }
+
+    @Test
+    @DisplayName("The timer of a method is created once and reused")
+    void testTimerIsCached() throws NoSuchMethodException {
+        Method method = Object.class.getMethod("hashCode");
+
+        assertSame(aspect.timer(method, "repository"), aspect.timer(method, "repository"));
+        assertEquals(1, meterRegistry.find(LatencyTimingAspect.TIMER_NAME).timers().size());
+    }
+
+    private static ProceedingJoinPoint joinPoint(Method method) {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        return joinPoint;
+    }
+}
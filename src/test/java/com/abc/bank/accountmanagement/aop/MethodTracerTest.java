@@ -0,0 +1,92 @@
+package com.abc.bank.accountmanagement.aop;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MethodTracerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("A sampled request records every nested call and is queued once the outermost call returns")
+    void testSampledRequest() throws Throwable {
+        MethodTracer tracer = new MethodTracer(meterRegistry, 1.0, 16, 4);
+        ProceedingJoinPoint inner = joinPoint("toString");
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = joinPoint("hashCode");
+        when(outer.proceed()).thenAnswer(invocation -> {
+            assertNull(tracer.pollCompleted());
+            return tracer.trace(inner);
+        });
+
+        assertEquals("inner", tracer.trace(outer));
+
+        TraceBuffer buffer = tracer.pollCompleted();
+        assertNotNull(buffer);
+        assertEquals(2, buffer.size());
+        assertEquals(0, buffer.dropped());
+        assertDoesNotThrow(() -> buffer.log(LoggerFactory.getLogger(MethodTracerTest.class)));
+    }
+
+    @Test
+    @DisplayName("Unsampled requests are not recorded")
+    void testUnsampledRequest() throws Throwable {
+        MethodTracer tracer = new MethodTracer(meterRegistry, 0.0, 16, 4);
+        ProceedingJoinPoint joinPoint = joinPoint("toString");
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertEquals("result", tracer.trace(joinPoint));
+        assertNull(tracer.pollCompleted());
+        verify(joinPoint, never()).getSignature();
+    }
+
+    @Test
+    @DisplayName("Calls beyond the ring size overwrite the oldest ones and are counted as dropped")
+    void testRingOverflow() throws Throwable {
+        MethodTracer tracer = new MethodTracer(meterRegistry, 1.0, 2, 4);
+        ProceedingJoinPoint inner = joinPoint("toString");
+        ProceedingJoinPoint outer = joinPoint("hashCode");
+        when(outer.proceed()).thenAnswer(invocation -> {
+            for (int i = 0; i < 3; i++) {
+                tracer.trace(inner);
+            }
+            return null;
+        });
+
+        tracer.trace(outer);
+
+        TraceBuffer buffer = tracer.pollCompleted();
+        assertEquals(2, buffer.size());
+        assertEquals(2, buffer.dropped());
+    }
+
+    @Test
+    @DisplayName("Failures are recorded and rethrown, and a full queue drops the trace")
+    void testFailureAndFullQueue() throws Throwable {
+        MethodTracer tracer = new MethodTracer(meterRegistry, 1.0, 4, 1);
+        ProceedingJoinPoint failing = joinPoint("toString");
+        when(failing.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> tracer.trace(failing));
+        assertThrows(IllegalStateException.class, () -> tracer.trace(failing));
+
+        assertNotNull(tracer.pollCompleted());
+        assertNull(tracer.pollCompleted());
+        assertEquals(1.0, meterRegistry.get("tracing.dropped").counter().count());
+    }
+
+    private static ProceedingJoinPoint joinPoint(String methodName) throws NoSuchMethodException {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Object.class.getMethod(methodName));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        return joinPoint;
+    }
+}
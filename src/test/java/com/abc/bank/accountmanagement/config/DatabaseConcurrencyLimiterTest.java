@@ -0,0 +1,81 @@
+package com.abc.bank.accountmanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatabaseConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(1);
+    private final DataSource target = mock(DataSource.class);
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        limiter.bindTo(meterRegistry);
+        dataSource = (DataSource) limiter.postProcessAfterInitialization(target, "dataSource");
+    }
+
+    @Test
+    @DisplayName("A caller is turned away at once while the waiting room is full, and admitted once it frees up")
+    void testRejectsWhenTooManyAreWaiting() throws Exception {
+        CountDownLatch inPool = new CountDownLatch(1);
+        CountDownLatch poolFrees = new CountDownLatch(1);
+        when(target.getConnection()).thenAnswer(invocation -> {
+            inPool.countDown();
+            poolFrees.await();
+            return mock(Connection.class);
+        }).thenAnswer(invocation -> mock(Connection.class));
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        assertTrue(inPool.await(5, TimeUnit.SECONDS));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(1)).getConnection();
+        assertEquals(1.0, meterRegistry.get("database.limiter.rejected").counter().count());
+
+        poolFrees.countDown();
+        assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+        assertNotNull(dataSource.getConnection());
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("A caller leaves the waiting room when the pool fails")
+    void testLeavesOnFailure() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("boom")).thenAnswer(invocation -> mock(Connection.class));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertNotNull(dataSource.getConnection());
+
+        assertEquals(0.0, meterRegistry.get("database.limiter.waiting").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Other beans and an already limited DataSource are left alone")
+    void testWrapsOnlyOnce() {
+        Object other = new Object();
+
+        assertSame(other, limiter.postProcessAfterInitialization(other, "other"));
+        assertSame(dataSource, limiter.postProcessAfterInitialization(dataSource, "dataSource"));
+    }
+}
@@ -0,0 +1,179 @@
+package com.abc.bank.accountmanagement.config;
+
+import com.abc.bank.accountmanagement.AccountManagementApplication;
+import com.abc.bank.accountmanagement.security.TokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares Tomcat's default platform threads with a virtual thread per request on the real endpoints. The whole
+ * application is started once per mode on an embedded H2 database with ten Hikari connections, and the same
+ * closed-loop load of registrations and authenticated overview pages is sent to each. Only errors fail the run;
+ * throughput and p99 are logged for comparison, not asserted. Virtual threads need a Java 21 runtime, so run with
+ * {@code mvn test -Pjava21,benchmark} on JDK 21.
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ExecutionModeBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeBenchmarkTest.class);
+
+    private static final int CLIENTS = 200;
+    private static final int WARMUP_REQUESTS = 1_000;
+    private static final int REQUESTS = 5_000;
+    private static final double REGISTER_SHARE = 0.2;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong usernames = new AtomicLong();
+
+    @Test
+    @DisplayName("Platform and virtual threads serve the same load without errors")
+    void compareExecutionModes() throws Exception {
+        Result platform = run("platform", "loadtest");
+        Result virtual = run("virtual", "loadtest", "virtual-threads");
+
+        logger.info("platform: {} req/s, p99 {} ms, {} errors", Math.round(platform.throughput()), platform.p99Millis(), platform.errors());
+        logger.info("virtual:  {} req/s, p99 {} ms, {} errors", Math.round(virtual.throughput()), virtual.p99Millis(), virtual.errors());
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+
+    private Result run(String mode, String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountManagementApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=10")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            try {
+                String token = logon(httpClient, port);
+                drive(httpClient, clients, port, token, WARMUP_REQUESTS);
+                return drive(httpClient, clients, port, token, REQUESTS);
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+    }
+
+    private Result drive(HttpClient httpClient, ExecutorService clients, int port, String token, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        Runnable client = () -> {
+            for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                HttpRequest request = ThreadLocalRandom.current().nextDouble() < REGISTER_SHARE
+                        ? register(port)
+                        : HttpRequest.newBuilder(uri(port, "/api/overview?limit=20")).header("Authorization", "Bearer " + token).GET().build();
+                long sent = System.nanoTime();
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                } catch (IOException exception) {
+                    errors.incrementAndGet();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                latencies[i] = System.nanoTime() - sent;
+            }
+        };
+        List<Future<?>> running = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            running.add(clients.submit(client));
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get(5, TimeUnit.MINUTES);
+            } catch (Exception exception) {
+                fail("Client did not finish: " + exception);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(requests * 1e9 / elapsed,
+                TimeUnit.NANOSECONDS.toMillis(latencies[(int) (requests * 0.99) - 1]), errors.get());
+    }
+
+    private String logon(HttpClient httpClient, int port) throws IOException, InterruptedException {
+        HttpResponse<String> registration = httpClient.send(register(port), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, registration.statusCode(), registration.body());
+        JsonNode body = objectMapper.readTree(registration.body());
+
+        HttpResponse<String> logon = httpClient.send(post(port, "/api/logon", Map.of(
+                "username", body.get("username").asText(),
+                "password", body.get("password").asText())), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, logon.statusCode(), logon.body());
+        return logon.headers().allValues("Set-Cookie").stream()
+                .flatMap(header -> HttpCookie.parse(header).stream())
+                .filter(cookie -> TokenService.TOKEN_COOKIE.equals(cookie.getName()))
+                .map(HttpCookie::getValue)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Logon did not set the token cookie"));
+    }
+
+    private HttpRequest register(int port) {
+        return post(port, "/api/register", Map.of(
+                "name", "Benchmark",
+                "address", "123 Main St",
+                "dateOfBirth", "1990-01-01",
+                "idDocumentNumber", "123456789",
+                "username", "bench" + usernames.incrementAndGet()));
+    }
+
+    private HttpRequest post(int port, String path, Map<String, String> fields) {
+        try {
+            return HttpRequest.newBuilder(uri(port, path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(fields)))
+                    .build();
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record Result(double throughput, long p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.abc.bank.accountmanagement.config;
+
+import com.abc.bank.accountmanagement.service.RateLimiterService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private RateLimiterService rateLimiterService;
+    private RateLimitFilter rateLimitFilter;
+    private FilterChain filterChain;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiterService = mock(RateLimiterService.class);
+        rateLimitFilter = new RateLimitFilter(rateLimiterService);
+        filterChain = mock(FilterChain.class);
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Requests within the limit continue down the chain")
+    void testRequestWithinLimit() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/register");
+        given(rateLimiterService.tryConsume(request)).willReturn(true);
+
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Requests over the limit are answered with 429 without reaching the chain")
+    void testRequestOverLimit() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/register");
+        given(rateLimiterService.tryConsume(request)).willReturn(false);
+        MDC.put(TraceIdFilter.TRACE_ID_HEADER, "trace-\"1\"");
+
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain, never()).doFilter(any(), any());
+        assertEquals(429, response.getStatus());
+        assertEquals("application/json", response.getContentType());
+        assertEquals("{\"traceId\":\"trace-\\\"1\\\"\",\"status\":429,\"message\":\"Too many requests - please try again later\"}",
+                response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("The trace id is left out of the 429 body when there is none")
+    void testRequestOverLimitWithoutTraceId() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/overview");
+        given(rateLimiterService.tryConsume(request)).willReturn(false);
+
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("{\"status\":429,\"message\":\"Too many requests - please try again later\"}", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Paths outside the API are not rate limited")
+    void testNonApiPathSkipped() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(rateLimiterService, never()).tryConsume(any(HttpServletRequest.class));
+    }
+}
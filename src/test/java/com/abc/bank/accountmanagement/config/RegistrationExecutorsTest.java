@@ -0,0 +1,85 @@
+package com.abc.bank.accountmanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrationExecutorsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RegistrationExecutors executors = new RegistrationExecutors(meterRegistry, new MdcTaskDecorator(), 1, 1, 1, 1, false);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executors.shutdown();
+    }
+
+    @Test
+    @DisplayName("Work beyond the threads and queue of a pool is rejected straight away")
+    void testRejectsWhenSaturated() {
+        executors.cpu().execute(this::awaitRelease);
+        executors.cpu().execute(this::awaitRelease);
+
+        assertThrows(TaskRejectedException.class, () -> executors.cpu().execute(this::awaitRelease));
+        // The I/O pool has its own limits and still accepts work.
+        assertDoesNotThrow(() -> executors.io().execute(this::awaitRelease));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Virtual-thread I/O still rejects work beyond threads plus queue")
+    void testVirtualThreadIoIsBounded() {
+        RegistrationExecutors virtual = new RegistrationExecutors(new SimpleMeterRegistry(), new MdcTaskDecorator(), 1, 1, 1, 1, true);
+        try {
+            virtual.io().execute(this::awaitRelease);
+            virtual.io().execute(this::awaitRelease);
+
+            assertThrows(TaskRejectedException.class, () -> virtual.io().execute(this::awaitRelease));
+        } finally {
+            release.countDown();
+            virtual.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Tasks see the trace id of the thread that submitted them")
+    void testMdcIsPropagated() throws Exception {
+        MDC.put(TraceIdFilter.TRACE_ID_HEADER, "trace-1");
+        try {
+            CompletableFuture<String> traceId = CompletableFuture.supplyAsync(() -> MDC.get(TraceIdFilter.TRACE_ID_HEADER), executors.cpu())
+                    .thenApplyAsync(cpuTraceId -> cpuTraceId + "/" + MDC.get(TraceIdFilter.TRACE_ID_HEADER), executors.io());
+
+            assertEquals("trace-1/trace-1", traceId.get(5, TimeUnit.SECONDS));
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Test
+    @DisplayName("Pool metrics are registered")
+    void testMetrics() {
+        assertNotNull(meterRegistry.find("executor.queued").tag("name", "registration.cpu").gauge());
+        assertNotNull(meterRegistry.find("executor.queued").tag("name", "registration.io").gauge());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.abc.bank.accountmanagement.config;
 
 
+import com.abc.bank.accountmanagement.util.TraceIdGenerator;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
@@ -62,6 +64,24 @@ class TraceIdFilterTest {
         assertNotNull(MDC.get(TraceIdFilter.TRACE_ID_HEADER));
     }
 
+    @Test
+    @DisplayName("A malformed or overlong Trace-Id header is replaced by a generated id")
+    void testDoFilter_withMalformedTraceId() throws IOException, ServletException {
+        request.addHeader(TraceIdFilter.TRACE_ID_HEADER, "abc\r\nSet-Cookie: x=y");
+        doNothing().when(traceIdFilter).clearMDC();
+
+        traceIdFilter.doFilter(request, response, filterChain);
+
+        assertTrue(TraceIdGenerator.isTraceId(MDC.get(TraceIdFilter.TRACE_ID_HEADER)));
+        assertEquals(MDC.get(TraceIdFilter.TRACE_ID_HEADER), response.getHeader(TraceIdFilter.TRACE_ID_HEADER));
+
+        MockHttpServletRequest overlong = new MockHttpServletRequest();
+        overlong.addHeader(TraceIdFilter.TRACE_ID_HEADER, "a".repeat(TraceIdGenerator.MAX_CLIENT_TRACE_ID_LENGTH + 1));
+        traceIdFilter.doFilter(overlong, new MockHttpServletResponse(), filterChain);
+
+        assertTrue(TraceIdGenerator.isTraceId(MDC.get(TraceIdFilter.TRACE_ID_HEADER)));
+    }
+
     @Test
     @DisplayName("Filter should generate and add Trace-Id to MDC when Trace-Id header is absent")
     void testDoFilter_withoutTraceId() throws IOException, ServletException {
@@ -83,4 +103,40 @@ class TraceIdFilterTest {
         verify(traceIdFilter).clearMDC();
         assertNull(MDC.get(TraceIdFilter.TRACE_ID_HEADER));
     }
+
+    @Test
+    @DisplayName("The trace id is echoed in the Trace-Id and traceparent response headers")
+    void testDoFilter_echoesTraceId() throws IOException, ServletException {
+        traceIdFilter.doFilter(request, response, filterChain);
+
+        String traceId = response.getHeader(TraceIdFilter.TRACE_ID_HEADER);
+        assertTrue(TraceIdGenerator.isTraceId(traceId));
+        assertEquals(traceId, TraceIdGenerator.traceIdFromTraceparent(response.getHeader(TraceIdFilter.TRACEPARENT_HEADER)));
+    }
+
+    @Test
+    @DisplayName("A W3C traceparent header continues the caller's trace")
+    void testDoFilter_withTraceparent() throws IOException, ServletException {
+        request.addHeader(TraceIdFilter.TRACEPARENT_HEADER, "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        doNothing().when(traceIdFilter).clearMDC();
+
+        traceIdFilter.doFilter(request, response, filterChain);
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", MDC.get(TraceIdFilter.TRACE_ID_HEADER));
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", response.getHeader(TraceIdFilter.TRACE_ID_HEADER));
+    }
+
+    @Test
+    @DisplayName("An async dispatch of the same request restores its trace id")
+    void testDoFilter_asyncDispatchRestoresTraceId() throws IOException, ServletException {
+        request.addHeader(TraceIdFilter.TRACE_ID_HEADER, "12345");
+        traceIdFilter.doFilter(request, response, filterChain);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        request.removeHeader(TraceIdFilter.TRACE_ID_HEADER);
+        doNothing().when(traceIdFilter).clearMDC();
+
+        traceIdFilter.doFilter(request, response, filterChain);
+
+        assertEquals("12345", MDC.get(TraceIdFilter.TRACE_ID_HEADER));
+    }
 }
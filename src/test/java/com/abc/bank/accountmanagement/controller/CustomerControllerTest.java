@@ -1,41 +1,65 @@
 package com.abc.bank.accountmanagement.controller;
 
+import com.abc.bank.accountmanagement.config.SecurityConfig;
+import com.abc.bank.accountmanagement.dto.CustomerBatchRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerBatchRegistrationResultDTO;
+import com.abc.bank.accountmanagement.dto.CustomerOverviewPageResponseDTO;
 import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationResponseDTO;
 import com.abc.bank.accountmanagement.dto.LoginRequestDTO;
+import com.abc.bank.accountmanagement.dto.UsernameAvailabilityResponseDTO;
 import com.abc.bank.accountmanagement.exception.AuthenticationException;
 import com.abc.bank.accountmanagement.exception.UsernameAlreadyExistsException;
 import com.abc.bank.accountmanagement.model.Customer;
 import com.abc.bank.accountmanagement.repository.CustomerRepository;
+import com.abc.bank.accountmanagement.security.CustomerUserDetails;
+import com.abc.bank.accountmanagement.security.TokenService;
 import com.abc.bank.accountmanagement.service.CustomerService;
+import com.abc.bank.accountmanagement.service.RateLimiterService;
 import com.abc.bank.accountmanagement.service.UserDetailsServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static com.abc.bank.accountmanagement.util.JsonUtil.asJsonString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CustomerController.class)
+@Import(SecurityConfig.class)
 public class CustomerControllerTest {
     @Autowired
     MockMvc mockMvc;
@@ -52,6 +76,17 @@ public class CustomerControllerTest {
     @MockBean
     private AuthenticationManager authenticationManager;
 
+    @MockBean
+    private TokenService tokenService;
+
+    @MockBean
+    private RateLimiterService rateLimiterService;
+
+    @BeforeEach
+    public void allowRequests() {
+        given(rateLimiterService.tryConsume(any(HttpServletRequest.class))).willReturn(true);
+    }
+
     @Test
     @DisplayName("Customer Registration Happy Flow Test")
     public void testCustomerRegistrationHappyFlow() throws Exception {
@@ -82,6 +117,69 @@ public class CustomerControllerTest {
         verify(customerService).register(requestDTO);
     }
 
+    @Test
+    @DisplayName("Async registration completes with the registered customer")
+    public void testCustomerAsyncRegistration() throws Exception {
+        CustomerRegistrationRequestDTO requestDTO = CustomerRegistrationRequestDTO.builder()
+                .name("Alex Souza")
+                .address("123 Main St")
+                .dateOfBirth("1990-01-01")
+                .idDocumentNumber("123456789")
+                .username("alex")
+                .build();
+        given(customerService.registerAsync(any(CustomerRegistrationRequestDTO.class)))
+                .willReturn(CompletableFuture.completedFuture(CustomerRegistrationResponseDTO.builder()
+                        .username("alex")
+                        .password("12345")
+                        .iban("NL12345567")
+                        .build()));
+
+        MvcResult result = mockMvc.perform(post("/api/register/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(requestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("username").value("alex"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Batch registration returns the per-customer results")
+    public void testCustomerBatchRegistration() throws Exception {
+        CustomerRegistrationRequestDTO requestDTO = CustomerRegistrationRequestDTO.builder()
+                .name("Alex Souza")
+                .address("123 Main St")
+                .dateOfBirth("1990-01-01")
+                .idDocumentNumber("123456789")
+                .username("alex")
+                .build();
+        given(customerService.registerBatch(any()))
+                .willReturn(CustomerBatchRegistrationResponseDTO.builder()
+                        .registered(1)
+                        .failed(0)
+                        .results(List.of(CustomerBatchRegistrationResultDTO.builder()
+                                .index(0)
+                                .status(200)
+                                .customer(CustomerRegistrationResponseDTO.builder().username("alex").password("12345").iban("NL12345567").build())
+                                .build()))
+                        .build());
+
+        mockMvc.perform(post("/api/register/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(List.of(requestDTO))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("registered").value(1))
+                .andExpect(jsonPath("results[0].customer.username").value("alex"))
+                .andExpect(jsonPath("results[0].message").doesNotExist());
+
+        verify(customerService).registerBatch(List.of(requestDTO));
+    }
+
     @Test
     @DisplayName("Customer Registration Unhappy Flow Test - Username Already Exists")
     public void testCustomerRegistrationUnhappyFlow() throws Exception {
@@ -237,16 +335,21 @@ public class CustomerControllerTest {
                 .build();
 
 
+        CustomerUserDetails principal = new CustomerUserDetails(7L, "test", "hash", new ArrayList<>());
         given(authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken("test", "test")))
-                .willReturn(null);
+                .willReturn(UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+        given(tokenService.generateToken(7L)).willReturn("signed-token");
+        given(tokenService.getTtl()).willReturn(Duration.ofMinutes(30));
 
 
         mockMvc.perform(post("/api/logon")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(loginRequestDTO)))
                 .andDo(print())
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(cookie().value("token", "signed-token"))
+                .andExpect(cookie().httpOnly("token", true));
     }
 
     @Test
@@ -270,5 +373,71 @@ public class CustomerControllerTest {
                 .andDo(print())
                 .andExpect(status().isUnauthorized());
     }
-}
 
+    @Test
+    @WithMockUser
+    @DisplayName("Overview stream writes newline-delimited JSON when requested")
+    public void testStreamUsersNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CustomerOverviewResponseDTO> consumer = invocation.getArgument(0);
+            consumer.accept(CustomerOverviewResponseDTO.builder().id(1).username("alex").build());
+            consumer.accept(CustomerOverviewResponseDTO.builder().id(2).username("bob").build());
+            return null;
+        }).when(customerService).streamAll(any());
+
+        MvcResult result = mockMvc.perform(get("/api/overview/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"username\":\"alex\""));
+        assertTrue(lines[1].contains("\"username\":\"bob\""));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Overview stream writes a JSON array by default")
+    public void testStreamUsersJsonArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CustomerOverviewResponseDTO> consumer = invocation.getArgument(0);
+            consumer.accept(CustomerOverviewResponseDTO.builder().id(1).username("alex").build());
+            return null;
+        }).when(customerService).streamAll(any());
+
+        mockMvc.perform(get("/api/overview/stream"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[0].username").value("alex"))
+                .andExpect(jsonPath("$[0].password").value("******"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Overview ids and cursor are strings, so JavaScript clients keep every digit")
+    public void testOverviewIdsAreStrings() throws Exception {
+        long id = (1L << 58) + 1;
+        given(customerService.getPage(null, null)).willReturn(CustomerOverviewPageResponseDTO.builder()
+                .customers(List.of(CustomerOverviewResponseDTO.builder().id(id).username("alex").build()))
+                .nextCursor(id)
+                .build());
+
+        mockMvc.perform(get("/api/overview"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers[0].id").value(Long.toString(id)))
+                .andExpect(jsonPath("$.nextCursor").value(Long.toString(id)));
+    }
+
+    @Test
+    @DisplayName("Username availability is public and answered by the service")
+    public void testCheckUsernameAvailability() throws Exception {
+        given(customerService.checkUsernameAvailability("johndoe"))
+                .willReturn(UsernameAvailabilityResponseDTO.builder().username("johndoe").available(true).build());
+
+        mockMvc.perform(get("/api/register/available").param("username", "johndoe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("username").value("johndoe"))
+                .andExpect(jsonPath("available").value(true));
+    }
+}
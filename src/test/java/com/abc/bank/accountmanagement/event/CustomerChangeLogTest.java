@@ -0,0 +1,244 @@
+package com.abc.bank.accountmanagement.event;
+
+import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.model.CustomerCredentials;
+import com.abc.bank.accountmanagement.repository.CustomerRepository;
+import com.abc.bank.accountmanagement.security.CachingAuthenticationProvider;
+import com.abc.bank.accountmanagement.service.DatabaseService;
+import com.abc.bank.accountmanagement.service.DatabaseServiceImpl;
+import com.abc.bank.accountmanagement.service.UserDetailsServiceImpl;
+import com.abc.bank.accountmanagement.service.UsernameFilterService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs three replicas as separate application contexts in one JVM, sharing an embedded H2 database the way
+ * replicas share MySQL. Each replica also has the caching services, backed by its own mocked repository, so the
+ * tests can check that their caches are evicted on the other replicas.
+ */
+class CustomerChangeLogTest {
+
+    private String databaseUrl;
+    private ConfigurableApplicationContext first;
+    private ConfigurableApplicationContext second;
+    private ConfigurableApplicationContext third;
+
+    @BeforeEach
+    public void startReplicas() {
+        databaseUrl = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        first = startReplica();
+        second = startReplica();
+        third = startReplica();
+    }
+
+    @AfterEach
+    public void stopReplicas() {
+        for (ConfigurableApplicationContext replica : List.of(first, second, third)) {
+            replica.close();
+        }
+    }
+
+    @Test
+    @DisplayName("A change on one replica is published on every other replica")
+    public void testChangeReachesOtherReplicas() throws InterruptedException {
+        first.publishEvent(new CustomerChangedEvent(1L, "alex"));
+
+        for (ConfigurableApplicationContext replica : List.of(second, third)) {
+            CustomerChangedEvent received = remoteEvents(replica).poll(5, TimeUnit.SECONDS);
+            assertNotNull(received);
+            assertEquals(1L, received.getCustomerId());
+            assertEquals("alex", received.getUsername());
+        }
+        TimeUnit.MILLISECONDS.sleep(500);
+        assertTrue(remoteEvents(first).isEmpty(), "the originating replica already evicted locally");
+        assertTrue(remoteEvents(second).isEmpty(), "each change is published once");
+    }
+
+    @Test
+    @DisplayName("A change on one replica evicts the lookup and authentication caches of the others")
+    public void testChangeEvictsCachesOnOtherReplicas() throws InterruptedException {
+        CustomerRepository secondRepository = second.getBean(CustomerRepository.class);
+        given(secondRepository.findCredentialsByUsername("alex"))
+                .willReturn(Optional.of(new CustomerCredentials(1L, "alex", "old-password")));
+        second.getBean(UsernameFilterService.class).put("alex");
+        CachingAuthenticationProvider secondProvider = second.getBean(CachingAuthenticationProvider.class);
+        assertTrue(secondProvider.authenticate(credentials("old-password")).isAuthenticated());
+        assertFalse(second.getBean(DatabaseService.class).checkUsernameAvailability("alex"));
+
+        Customer changed = Customer.builder().id(1L).username("alex").password("new-password").build();
+        given(first.getBean(CustomerRepository.class).saveAndFlush(any(Customer.class))).willReturn(changed);
+        given(secondRepository.findCredentialsByUsername("alex"))
+                .willReturn(Optional.of(new CustomerCredentials(1L, "alex", "new-password")));
+        first.getBean(DatabaseService.class).saveCustomer(changed);
+
+        assertNotNull(remoteEvents(second).poll(5, TimeUnit.SECONDS));
+        // Stale entries in either cache would keep accepting the old password or rejecting the new one.
+        assertThrows(BadCredentialsException.class, () -> secondProvider.authenticate(credentials("old-password")));
+        assertTrue(secondProvider.authenticate(credentials("new-password")).isAuthenticated());
+    }
+
+    @Test
+    @DisplayName("A change that cannot be written is retried instead of failing the caller")
+    public void testFailedFlushIsRetried() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = first.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("ALTER TABLE customer_change_log RENAME TO customer_change_log_offline");
+
+        first.publishEvent(new CustomerChangedEvent(1L, "alex"));
+        TimeUnit.MILLISECONDS.sleep(300);
+        jdbcTemplate.execute("ALTER TABLE customer_change_log_offline RENAME TO customer_change_log");
+
+        CustomerChangedEvent received = remoteEvents(second).poll(5, TimeUnit.SECONDS);
+        assertNotNull(received);
+        assertEquals("alex", received.getUsername());
+    }
+
+    @Test
+    @DisplayName("A change that becomes visible below the last id read is still published")
+    public void testLateCommitIsPublished() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = first.getBean(JdbcTemplate.class);
+        insert(jdbcTemplate, 10, "alex");
+        assertEquals("alex", remoteEvents(second).poll(5, TimeUnit.SECONDS).getUsername());
+
+        // Simulates a transaction that took id 5 before id 10 but committed after it was read.
+        insert(jdbcTemplate, 5, "bob");
+
+        assertEquals("bob", remoteEvents(second).poll(5, TimeUnit.SECONDS).getUsername());
+        TimeUnit.MILLISECONDS.sleep(500);
+        assertTrue(remoteEvents(second).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A replica that shuts down writes its queued changes first")
+    public void testStopWritesPendingChanges() throws InterruptedException {
+        ConfigurableApplicationContext stopping = startReplica("cache-invalidation.flush-interval=PT1H");
+        CustomerChangeLog changeLog = stopping.getBean(CustomerChangeLog.class);
+        stopping.publishEvent(new CustomerChangedEvent(1L, "alex"));
+
+        stopping.close();
+
+        CustomerChangedEvent received = remoteEvents(second).poll(5, TimeUnit.SECONDS);
+        assertNotNull(received);
+        assertEquals("alex", received.getUsername());
+        assertFalse(changeLog.isRunning());
+    }
+
+    private ConfigurableApplicationContext startReplica(String... properties) {
+        return new SpringApplicationBuilder(ReplicaConfig.class, ServiceConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties("test.database-url=" + databaseUrl,
+                        "cache-invalidation.flush-interval=PT0.05S",
+                        "cache-invalidation.poll-interval=PT0.05S",
+                        "cache-invalidation.lookback=PT10S")
+                .properties(properties)
+                .run();
+    }
+
+    private static UsernamePasswordAuthenticationToken credentials(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("alex", password);
+    }
+
+    private static BlockingQueue<CustomerChangedEvent> remoteEvents(ConfigurableApplicationContext replica) {
+        return replica.getBean(RemoteEventRecorder.class).events;
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, long id, String username) {
+        jdbcTemplate.update("INSERT INTO customer_change_log (id, customer_id, username, origin, changed_at) "
+                + "VALUES (?, ?, ?, 'another-replica', ?)", id, id, username, System.currentTimeMillis());
+    }
+
+    // Not a @Configuration, so the component scan of full application tests does not pick it up.
+    @EnableScheduling
+    @Import({CustomerChangeLog.class, RemoteEventRecorder.class})
+    static class ReplicaConfig {
+
+        @Bean
+        DataSource dataSource(Environment environment) {
+            DataSource dataSource = new DriverManagerDataSource(environment.getRequiredProperty("test.database-url"), "sa", "");
+            // Without auto-configuration nothing runs schema.sql; its statements are idempotent, so every replica may.
+            DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")), dataSource);
+            return dataSource;
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+    }
+
+    @Import({DatabaseServiceImpl.class, UsernameFilterService.class, UserDetailsServiceImpl.class,
+            CachingAuthenticationProvider.class})
+    static class ServiceConfig {
+
+        @Bean
+        CustomerRepository customerRepository() {
+            return mock(CustomerRepository.class);
+        }
+
+        @Bean
+        EntityManager entityManager() {
+            return mock(EntityManager.class);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        @SuppressWarnings("deprecation")
+        PasswordEncoder passwordEncoder() {
+            return NoOpPasswordEncoder.getInstance();
+        }
+    }
+
+    static class RemoteEventRecorder {
+        final BlockingQueue<CustomerChangedEvent> events = new LinkedBlockingQueue<>();
+
+        @EventListener
+        public void onRemoteChange(RemoteCustomerChangedEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -1,33 +1,48 @@
 package com.abc.bank.accountmanagement.exception;
 
+import com.abc.bank.accountmanagement.config.SecurityConfig;
+import com.abc.bank.accountmanagement.controller.CustomerController;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
 import com.abc.bank.accountmanagement.repository.CustomerRepository;
 import com.abc.bank.accountmanagement.service.CustomerService;
+import com.abc.bank.accountmanagement.security.TokenService;
+import com.abc.bank.accountmanagement.service.RateLimiterService;
 import com.abc.bank.accountmanagement.service.DatabaseService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(GlobalExceptionHandler.class)
+@WebMvcTest(CustomerController.class)
+@Import(SecurityConfig.class)
 class GlobalExceptionHandlerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -38,12 +53,22 @@ class GlobalExceptionHandlerTest {
     @MockBean
     private CustomerRepository customerRepository;
 
+    @MockBean
+    private RateLimiterService rateLimiterService;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @MockBean
+    private TokenService tokenService;
+
     private String validJson;
     private String invalidJson;
     private String usernameAlreadyExistsJson;
 
     @BeforeEach
     public void setup() {
+        given(rateLimiterService.tryConsume(any(HttpServletRequest.class))).willReturn(true);
         validJson = "{\n" +
                 "  \"name\": \"Alex Souza\",\n" +
                 "  \"address\": \"123 Main St\",\n" +
@@ -97,17 +122,35 @@ class GlobalExceptionHandlerTest {
     }
 
     @Test
-    @DisplayName("Handle TooManyRequestsException")
-    public void testHandleTooManyRequestsException() throws Exception {
+    @DisplayName("Handle rejection by a saturated registration pool")
+    public void testHandleRejectedExecutionException() throws Exception {
+        given(customerService.registerAsync(any()))
+                .willReturn(CompletableFuture.failedFuture(new TaskRejectedException("Executor is full")));
+
+        MvcResult result = mockMvc.perform(post("/api/register/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validJson))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("message").value("Service is busy - please try again later"));
+    }
+
+    @Test
+    @DisplayName("Handle a database connection that did not become available in time")
+    public void testHandleDatabaseUnavailable() throws Exception {
         given(customerService.register(any()))
-                .willThrow(new TooManyRequestsException("Too many requests"));
+                .willThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"));
 
         mockMvc.perform(post("/api/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(validJson))
                 .andDo(print())
-                .andExpect(status().isTooManyRequests())
-                .andExpect(jsonPath("message").value("Too many requests"));
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
     }
 
     @Test
@@ -0,0 +1,60 @@
+package com.abc.bank.accountmanagement.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Latencies and outcomes of one endpoint during a load-test run. Latency is measured from the moment a request was
+ * scheduled to arrive, not from when it was sent, so a slow server cannot hide its queueing delay. Throughput counts
+ * only the successes that finished inside the run window, and is reported next to the arrivals that were scheduled
+ * for this endpoint, so requests that were shed, failed or were still running at the end lower it.
+ */
+class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int completed;
+    private long completedInWindow;
+    private long scheduled;
+    private long errors;
+
+    synchronized void recordArrival() {
+        scheduled++;
+    }
+
+    synchronized void recordSuccess(long latencyNanos, boolean inWindow) {
+        if (completed == latencies.length) {
+            latencies = Arrays.copyOf(latencies, completed * 2);
+        }
+        latencies[completed++] = latencyNanos;
+        if (inWindow) {
+            completedInWindow++;
+        }
+    }
+
+    synchronized void recordError() {
+        errors++;
+    }
+
+    synchronized Summary summarize(Duration elapsed) {
+        long[] sorted = Arrays.copyOf(latencies, completed);
+        Arrays.sort(sorted);
+        long total = completed + errors;
+        double seconds = elapsed.toNanos() / 1e9;
+        return new Summary(total, scheduled / seconds, completedInWindow / seconds,
+                total == 0 ? 0 : (double) errors / total,
+                percentile(sorted, 0.5), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? Duration.ZERO : Duration.ofNanos(sorted[sorted.length - 1]));
+    }
+
+    private static Duration percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(index, 0)]);
+    }
+
+    record Summary(long requests, double offered, double throughput, double errorRate,
+                   Duration p50, Duration p95, Duration p99, Duration max) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.abc.bank.accountmanagement.loadtest;
+
+import com.abc.bank.accountmanagement.loadtest.OpenModelLoadGenerator.Endpoint;
+import com.abc.bank.accountmanagement.security.TokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the whole application on an embedded H2 database in MySQL mode and drives /api/register, /api/logon and
+ * /api/overview with an open-model arrival rate. Logs throughput, error rate and latency percentiles per endpoint
+ * and fails when an SLO in application-loadtest.properties is missed. Run with {@code mvn test -Ploadtest}; any
+ * {@code loadtest.*} property can be overridden with {@code -D}, e.g. {@code -Dloadtest.arrival-rate=200}.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.arrival-rate}")
+    private double arrivalRate;
+
+    @Value("${loadtest.warmup}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration}")
+    private Duration duration;
+
+    @Value("${loadtest.max-in-flight}")
+    private int maxInFlight;
+
+    @Value("${loadtest.seed-customers}")
+    private int seedCustomers;
+
+    @Value("${loadtest.overview-limit}")
+    private int overviewLimit;
+
+    @Value("${loadtest.mix.register}")
+    private double registerShare;
+
+    @Value("${loadtest.mix.logon}")
+    private double logonShare;
+
+    @Value("${loadtest.mix.overview}")
+    private double overviewShare;
+
+    @Value("${loadtest.slo.max-error-rate}")
+    private double maxErrorRate;
+
+    @Value("${loadtest.slo.min-throughput-ratio}")
+    private double minThroughputRatio;
+
+    @Value("${loadtest.slo.register.p99}")
+    private Duration registerP99;
+
+    @Value("${loadtest.slo.logon.p99}")
+    private Duration logonP99;
+
+    @Value("${loadtest.slo.overview.p99}")
+    private Duration overviewP99;
+
+    private final AtomicLong usernames = new AtomicLong();
+    private final List<Credentials> customers = new ArrayList<>();
+    private HttpClient httpClient;
+
+    @Test
+    @DisplayName("Register, logon and overview meet their SLOs at the configured arrival rate")
+    void meetsServiceLevelObjectives() throws Exception {
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(4))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        seed();
+
+        Map<Endpoint, Double> mix = new EnumMap<>(Endpoint.class);
+        mix.put(Endpoint.REGISTER, registerShare);
+        mix.put(Endpoint.LOGON, logonShare);
+        mix.put(Endpoint.OVERVIEW, overviewShare);
+        OpenModelLoadGenerator generator =
+                new OpenModelLoadGenerator(httpClient, arrivalRate, maxInFlight, mix, this::request);
+
+        generator.run(warmup);
+        Map<Endpoint, EndpointStats> stats = generator.run(duration);
+
+        Map<Endpoint, Duration> p99Objectives = Map.of(
+                Endpoint.REGISTER, registerP99, Endpoint.LOGON, logonP99, Endpoint.OVERVIEW, overviewP99);
+        List<String> violations = new ArrayList<>();
+
+        logger.info("Load test: {} arrivals/s for {}", arrivalRate, duration);
+        logger.info(String.format("%-9s %9s %10s %10s %8s %8s %8s %8s %8s",
+                "endpoint", "requests", "offered/s", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStats.Summary summary = stats.get(endpoint).summarize(duration);
+            logger.info(String.format("%-9s %9d %10.1f %10.1f %7.2f%% %8d %8d %8d %8d", endpoint, summary.requests(),
+                    summary.offered(), summary.throughput(), summary.errorRate() * 100, summary.p50().toMillis(),
+                    summary.p95().toMillis(), summary.p99().toMillis(), summary.max().toMillis()));
+
+            if (summary.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%",
+                        endpoint, summary.errorRate() * 100, maxErrorRate * 100));
+            }
+            if (summary.p99().compareTo(p99Objectives.get(endpoint)) > 0) {
+                violations.add(String.format("%s p99 %d ms > %d ms",
+                        endpoint, summary.p99().toMillis(), p99Objectives.get(endpoint).toMillis()));
+            }
+            // Arrivals pick their endpoint at random, so compare with what this endpoint was actually scheduled.
+            if (summary.throughput() < summary.offered() * minThroughputRatio) {
+                violations.add(String.format("%s throughput %.1f req/s < %.0f%% of the offered %.1f req/s",
+                        endpoint, summary.throughput(), minThroughputRatio * 100, summary.offered()));
+            }
+        }
+        assertTrue(violations.isEmpty(), "SLO violations: " + violations);
+    }
+
+    /**
+     * Registers the customers that logon and overview requests act as, and logs each of them in once for a token.
+     */
+    private void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < seedCustomers; i++) {
+            HttpResponse<String> registration = httpClient.send(request(Endpoint.REGISTER),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, registration.statusCode(), registration.body());
+            JsonNode body = objectMapper.readTree(registration.body());
+            String username = body.get("username").asText();
+            String password = body.get("password").asText();
+
+            HttpResponse<String> logon = httpClient.send(logon(username, password), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, logon.statusCode(), logon.body());
+            String token = logon.headers().allValues("Set-Cookie").stream()
+                    .flatMap(header -> HttpCookie.parse(header).stream())
+                    .filter(cookie -> TokenService.TOKEN_COOKIE.equals(cookie.getName()))
+                    .map(HttpCookie::getValue)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Logon did not set the token cookie"));
+            customers.add(new Credentials(username, password, token));
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case REGISTER -> register();
+            case LOGON -> {
+                Credentials customer = randomCustomer();
+                yield logon(customer.username(), customer.password());
+            }
+            case OVERVIEW -> HttpRequest.newBuilder(uri("/api/overview?limit=" + overviewLimit))
+                    .header("Authorization", "Bearer " + randomCustomer().token())
+                    .GET()
+                    .build();
+        };
+    }
+
+    private HttpRequest register() {
+        String body = json(Map.of(
+                "name", "Load Test",
+                "address", "123 Main St",
+                "dateOfBirth", "1990-01-01",
+                "idDocumentNumber", "123456789",
+                "username", "load" + usernames.incrementAndGet()));
+        return post("/api/register", body);
+    }
+
+    private HttpRequest logon(String username, String password) {
+        return post("/api/logon", json(Map.of("username", username, "password", password)));
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String json(Map<String, String> fields) {
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private Credentials randomCustomer() {
+        return customers.get(ThreadLocalRandom.current().nextInt(customers.size()));
+    }
+
+    private record Credentials(String username, String password, String token) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.abc.bank.accountmanagement.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Sends requests with Poisson arrivals at a fixed average rate, whether or not earlier requests have completed
+ * (an open workload model). A closed loop of virtual users would slow down together with the server and understate
+ * latency under load. Arrivals that find {@code maxInFlight} requests outstanding are counted as errors rather than
+ * delayed.
+ */
+class OpenModelLoadGenerator {
+
+    enum Endpoint { REGISTER, LOGON, OVERVIEW }
+
+    private final HttpClient httpClient;
+    private final double arrivalsPerSecond;
+    private final int maxInFlight;
+    private final Map<Endpoint, Double> mix;
+    private final double totalWeight;
+    private final Function<Endpoint, HttpRequest> requestFactory;
+
+    OpenModelLoadGenerator(HttpClient httpClient, double arrivalsPerSecond, int maxInFlight,
+                           Map<Endpoint, Double> mix, Function<Endpoint, HttpRequest> requestFactory) {
+        double totalWeight = mix.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (arrivalsPerSecond <= 0 || totalWeight <= 0) {
+            throw new IllegalArgumentException("Arrival rate and endpoint mix must be positive");
+        }
+        this.httpClient = httpClient;
+        this.arrivalsPerSecond = arrivalsPerSecond;
+        this.maxInFlight = maxInFlight;
+        this.mix = mix;
+        this.totalWeight = totalWeight;
+        this.requestFactory = requestFactory;
+    }
+
+    Map<Endpoint, EndpointStats> run(Duration duration) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Phaser outstanding = new Phaser(1);
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long nextArrival = start;
+        while (true) {
+            nextArrival += nextInterArrivalNanos();
+            if (nextArrival >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = nextArrival - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pickEndpoint();
+            EndpointStats endpointStats = stats.get(endpoint);
+            endpointStats.recordArrival();
+            if (!inFlight.tryAcquire()) {
+                endpointStats.recordError();
+                continue;
+            }
+            long scheduled = nextArrival;
+            outstanding.register();
+            httpClient.sendAsync(requestFactory.apply(endpoint), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long completed = System.nanoTime();
+                        if (failure == null && response.statusCode() / 100 == 2) {
+                            endpointStats.recordSuccess(completed - scheduled, completed <= end);
+                        } else {
+                            endpointStats.recordError();
+                        }
+                        inFlight.release();
+                        outstanding.arriveAndDeregister();
+                    });
+        }
+        try {
+            outstanding.awaitAdvanceInterruptibly(outstanding.arrive(), 30, TimeUnit.SECONDS);
+        } catch (TimeoutException exception) {
+            throw new IllegalStateException("Requests still outstanding 30 seconds after the run ended", exception);
+        }
+        return stats;
+    }
+
+    private long nextInterArrivalNanos() {
+        double u = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return (long) (-Math.log(u) / arrivalsPerSecond * 1e9);
+    }
+
+    private Endpoint pickEndpoint() {
+        double roll = ThreadLocalRandom.current().nextDouble(totalWeight);
+        for (Map.Entry<Endpoint, Double> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return mix.keySet().iterator().next();
+    }
+}
@@ -0,0 +1,57 @@
+package com.abc.bank.accountmanagement.repository;
+
+import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.model.CustomerCredentials;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Case-insensitive like MySQL's default collation, which the credentials cache relies on.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.tsid.node-id=0",
+        "spring.datasource.url=jdbc:h2:mem:repository;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerRepositoryTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    @DisplayName("Credentials are read as a projection of id, username and password hash")
+    void testFindCredentialsByUsername() {
+        Customer customer = customerRepository.saveAndFlush(Customer.builder()
+                .name("Alex Souza")
+                .address("123 Main St")
+                .dateOfBirth("1990-01-01")
+                .idDocument("123456789")
+                .iban("NL91ABNA0417164300")
+                .username("alex")
+                .password("hash")
+                .build());
+
+        assertEquals(new CustomerCredentials(customer.getId(), "alex", "hash"),
+                customerRepository.findCredentialsByUsername("alex").orElseThrow());
+        assertTrue(customerRepository.findCredentialsByUsername("nobody").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Usernames are matched case-insensitively, so a lower-cased lookup finds any spelling")
+    void testFindCredentialsIgnoresCase() {
+        Customer customer = customerRepository.saveAndFlush(Customer.builder()
+                .name("Bram de Vries")
+                .address("1 Dam Square")
+                .dateOfBirth("1990-01-01")
+                .idDocument("987654321")
+                .iban("NL02ABNA0123456789")
+                .username("Bram")
+                .password("hash")
+                .build());
+
+        assertEquals(customer.getId(), customerRepository.findCredentialsByUsername("bram").orElseThrow().id());
+    }
+}
@@ -0,0 +1,91 @@
+package com.abc.bank.accountmanagement.security;
+
+import com.abc.bank.accountmanagement.event.CustomerChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+
+    private UserDetailsService userDetailsService;
+    private PasswordEncoder passwordEncoder;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(UserDetailsService.class);
+        passwordEncoder = spy(new BCryptPasswordEncoder(4));
+        String hash = passwordEncoder.encode("secret");
+        given(userDetailsService.loadUserByUsername("alex"))
+                .willAnswer(invocation -> new User("alex", hash, new ArrayList<>()));
+        clearInvocations(passwordEncoder);
+        provider = new CachingAuthenticationProvider(userDetailsService, passwordEncoder, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Repeated authentication with the same credentials is served from the cache")
+    void testRepeatedAuthenticationIsCached() {
+        Authentication first = provider.authenticate(new UsernamePasswordAuthenticationToken("alex", "secret"));
+        Authentication second = provider.authenticate(new UsernamePasswordAuthenticationToken("alex", "secret"));
+
+        assertTrue(first.isAuthenticated());
+        assertTrue(second.isAuthenticated());
+        assertEquals("alex", second.getName());
+        assertNull(second.getCredentials());
+        verify(userDetailsService, times(1)).loadUserByUsername("alex");
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Wrong password is rejected and never cached")
+    void testWrongPasswordIsNotCached() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken("alex", "secret"));
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("alex", "wrong")));
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("alex", "wrong")));
+
+        verify(userDetailsService, times(3)).loadUserByUsername("alex");
+    }
+
+    @Test
+    @DisplayName("Customer change evicts cached authentications for that username")
+    void testCustomerChangeInvalidatesCache() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken("alex", "secret"));
+
+        provider.onCustomerChanged(new CustomerChangedEvent(1L, "alex"));
+        provider.authenticate(new UsernamePasswordAuthenticationToken("alex", "secret"));
+
+        verify(userDetailsService, times(2)).loadUserByUsername("alex");
+    }
+
+    @Test
+    @DisplayName("Customer change evicts entries cached under another case of the username")
+    void testInvalidationIgnoresCase() {
+        String hash = passwordEncoder.encode("secret");
+        given(userDetailsService.loadUserByUsername("Alex"))
+                .willAnswer(invocation -> new User("alex", hash, new ArrayList<>()));
+        provider.authenticate(new UsernamePasswordAuthenticationToken("Alex", "secret"));
+
+        provider.onCustomerChanged(new CustomerChangedEvent(1L, "alex"));
+        provider.authenticate(new UsernamePasswordAuthenticationToken("Alex", "secret"));
+
+        verify(userDetailsService, times(2)).loadUserByUsername("Alex");
+    }
+}
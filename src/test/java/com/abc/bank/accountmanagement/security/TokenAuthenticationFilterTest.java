@@ -0,0 +1,67 @@
+package com.abc.bank.accountmanagement.security;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenAuthenticationFilterTest {
+
+    private final TokenService tokenService = new TokenService("", Duration.ofMinutes(5));
+    private final TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokenService);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Valid token cookie authenticates the request as the customer")
+    void testValidCookie() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(TokenService.TOKEN_COOKIE, tokenService.generateToken(7L)));
+        Authentication[] seen = new Authentication[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen[0] = SecurityContextHolder.getContext().getAuthentication());
+
+        assertNotNull(seen[0]);
+        assertEquals(7L, seen[0].getPrincipal());
+    }
+
+    @Test
+    @DisplayName("Valid Bearer token authenticates the request as the customer")
+    void testValidBearerHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + tokenService.generateToken(7L));
+        Authentication[] seen = new Authentication[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen[0] = SecurityContextHolder.getContext().getAuthentication());
+
+        assertNotNull(seen[0]);
+        assertTrue(seen[0].isAuthenticated());
+        assertEquals(7L, seen[0].getPrincipal());
+    }
+
+    @Test
+    @DisplayName("Invalid token leaves the request unauthenticated")
+    void testInvalidToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(TokenService.TOKEN_COOKIE, "not-a-token"));
+        Authentication[] seen = new Authentication[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen[0] = SecurityContextHolder.getContext().getAuthentication());
+
+        assertNull(seen[0]);
+    }
+}
@@ -1,7 +1,11 @@
 package com.abc.bank.accountmanagement.service;
 
+import com.abc.bank.accountmanagement.dto.CustomerBatchRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerOverviewPageResponseDTO;
+import com.abc.bank.accountmanagement.dto.CustomerOverviewResponseDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationRequestDTO;
 import com.abc.bank.accountmanagement.dto.CustomerRegistrationResponseDTO;
+import com.abc.bank.accountmanagement.exception.InvalidRequestException;
 import com.abc.bank.accountmanagement.exception.UsernameAlreadyExistsException;
 import com.abc.bank.accountmanagement.mapper.CustomerMapper;
 import com.abc.bank.accountmanagement.model.Customer;
@@ -11,9 +15,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +41,9 @@ public class CustomerServiceTest {
     @MockBean
     private CustomerMapper customerMapper;
 
+    @MockBean
+    private IbanAllocator ibanAllocator;
+
     @Autowired
     private CustomerService customerService;
 
@@ -58,7 +76,6 @@ public class CustomerServiceTest {
     @DisplayName("Register should succeed when username is available")
     public void testRegisterSuccess() {
         //Arrange
-        given(databaseService.checkUsernameAvailability(any())).willReturn(true);
         given(customerMapper.toCustomer(any(CustomerRegistrationRequestDTO.class))).willReturn(customer);
         given(databaseService.saveCustomer(any(Customer.class))).willReturn(customer);
         given(customerMapper.toCustomerRegistrationResponseDTO(any(Customer.class)))
@@ -68,21 +85,179 @@ public class CustomerServiceTest {
 
         assertNotNull(response);
         assertEquals("alex", response.getUsername());
-        verify(databaseService, times(1)).checkUsernameAvailability("alex");
+        verify(databaseService, never()).checkUsernameAvailability(any());
         verify(databaseService, times(1)).saveCustomer(any(Customer.class));
+        verify(ibanAllocator, times(1)).nextIban();
     }
 
     @Test
     @DisplayName("Register should fail when username is already taken")
     public void testRegisterUsernameAlreadyExists() {
-        given(databaseService.checkUsernameAvailability(any())).willReturn(false);
+        given(databaseService.saveCustomer(any(Customer.class))).willThrow(new UsernameAlreadyExistsException("Username already exists"));
 
         assertThrows(UsernameAlreadyExistsException.class, () -> {
             customerService.register(validRequest);
         });
 
-        verify(databaseService, times(1)).checkUsernameAvailability("alex");
-        verify(databaseService, never()).saveCustomer(any(Customer.class));
+        verify(databaseService, never()).checkUsernameAvailability(any());
+        verify(databaseService, times(1)).saveCustomer(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("Register async completes with the registered customer")
+    public void testRegisterAsync() throws Exception {
+        given(databaseService.saveCustomer(any(Customer.class))).willReturn(customer);
+
+        CustomerRegistrationResponseDTO response = customerService.registerAsync(validRequest).get(10, TimeUnit.SECONDS);
+
+        assertEquals("alex", response.getUsername());
+        assertNotEquals("12345", response.getPassword());
+        verify(databaseService, times(1)).saveCustomer(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("Register async fails the future when the username is taken")
+    public void testRegisterAsyncUsernameAlreadyExists() {
+        given(databaseService.saveCustomer(any(Customer.class))).willThrow(new UsernameAlreadyExistsException("Username already exists"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> customerService.registerAsync(validRequest).get(10, TimeUnit.SECONDS));
+
+        assertInstanceOf(UsernameAlreadyExistsException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Register batch reports the outcome of every customer")
+    public void testRegisterBatch() {
+        CustomerRegistrationRequestDTO invalidRequest = CustomerRegistrationRequestDTO.builder()
+                .name("Bram")
+                .address("")
+                .dateOfBirth("1990-01-01")
+                .idDocumentNumber("987654321")
+                .username("bram")
+                .build();
+        CustomerRegistrationRequestDTO repeatedRequest = CustomerRegistrationRequestDTO.builder()
+                .name("Alex Souza")
+                .address("123 Main St")
+                .dateOfBirth("1990-01-01")
+                .idDocumentNumber("123456789")
+                .username("ALEX")
+                .build();
+        given(databaseService.saveCustomers(anyList())).willReturn(List.of(CustomerSaveResult.saved(customer)));
+
+        CustomerBatchRegistrationResponseDTO response = customerService.registerBatch(List.of(validRequest, invalidRequest, repeatedRequest));
+
+        assertEquals(1, response.getRegistered());
+        assertEquals(2, response.getFailed());
+        assertEquals(200, response.getResults().get(0).getStatus());
+        assertEquals("alex", response.getResults().get(0).getCustomer().getUsername());
+        assertEquals(400, response.getResults().get(1).getStatus());
+        assertEquals("address", response.getResults().get(1).getErrors().get(0).getField());
+        assertEquals(409, response.getResults().get(2).getStatus());
+        // Only the valid, unique customer reaches the database.
+        verify(databaseService, times(1)).saveCustomers(argThat(customers -> customers.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Register batch reports customers rejected by the database")
+    public void testRegisterBatchSaveFailure() {
+        given(databaseService.saveCustomers(anyList()))
+                .willReturn(List.of(CustomerSaveResult.failed(new UsernameAlreadyExistsException("Username already exists"))));
+
+        CustomerBatchRegistrationResponseDTO response = customerService.registerBatch(List.of(validRequest));
+
+        assertEquals(0, response.getRegistered());
+        assertEquals(409, response.getResults().get(0).getStatus());
+        assertEquals("Username already exists", response.getResults().get(0).getMessage());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Register batch reports database-side failures as server errors, not bad requests")
+    public void testRegisterBatchServerFailure() {
+        CustomerRegistrationRequestDTO otherRequest = CustomerRegistrationRequestDTO.builder()
+                .name("Bram Smit")
+                .address("1 Dam")
+                .dateOfBirth("1990-01-01")
+                .idDocumentNumber("987654321")
+                .username("bram")
+                .build();
+        given(databaseService.saveCustomers(anyList())).willReturn(List.of(
+                CustomerSaveResult.failed(new DataIntegrityViolationException("Duplicate entry for key 'customer.iban'")),
+                CustomerSaveResult.failed(new QueryTimeoutException("Lock wait timeout exceeded"))));
+
+        CustomerBatchRegistrationResponseDTO response = customerService.registerBatch(List.of(validRequest, otherRequest));
+
+        assertEquals(0, response.getRegistered());
+        assertEquals(500, response.getResults().get(0).getStatus());
+        assertEquals(503, response.getResults().get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Register batch rejects empty and oversized batches")
+    public void testRegisterBatchSize() {
+        assertThrows(InvalidRequestException.class, () -> customerService.registerBatch(List.of()));
+        assertThrows(InvalidRequestException.class, () -> customerService.registerBatch(Collections.nCopies(1001, validRequest)));
+
+        verify(databaseService, never()).saveCustomers(anyList());
+    }
+
+    @Test
+    @DisplayName("Get page returns next cursor when more customers follow")
+    public void testGetPageWithNextCursor() {
+        Customer second = Customer.builder().id(2L).username("bob").build();
+        Customer third = Customer.builder().id(3L).username("carol").build();
+        given(databaseService.getPage(0L, 3)).willReturn(List.of(customer, second, third));
+
+        CustomerOverviewPageResponseDTO page = customerService.getPage(null, 2);
+
+        assertEquals(2, page.getCustomers().size());
+        assertEquals(2L, page.getNextCursor());
+        verify(databaseService, times(1)).getPage(0L, 3);
+    }
+
+    @Test
+    @DisplayName("Get page returns no cursor on the last page")
+    public void testGetPageLastPage() {
+        given(databaseService.getPage(1L, 3)).willReturn(List.of(customer));
+
+        CustomerOverviewPageResponseDTO page = customerService.getPage(1L, 2);
+
+        assertEquals(1, page.getCustomers().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Get page caps the limit at the configured maximum")
+    public void testGetPageLimitIsCapped() {
+        given(databaseService.getPage(anyLong(), anyInt())).willReturn(List.of());
+
+        customerService.getPage(null, Integer.MAX_VALUE);
+
+        verify(databaseService, times(1)).getPage(0L, 1001);
+    }
+
+    @Test
+    @DisplayName("Stream all maps every customer to an overview DTO")
+    public void testStreamAll() {
+        doAnswer(invocation -> {
+            Consumer<Customer> consumer = invocation.getArgument(0);
+            consumer.accept(customer);
+            return null;
+        }).when(databaseService).streamAll(any());
+        List<CustomerOverviewResponseDTO> received = new ArrayList<>();
+
+        customerService.streamAll(received::add);
+
+        assertEquals(1, received.size());
+        assertEquals("alex", received.get(0).getUsername());
+    }
+
+    @Test
+    @DisplayName("Username availability comes from the database service and requires a username")
+    public void testCheckUsernameAvailability() {
+        given(databaseService.checkUsernameAvailability("alex")).willReturn(false);
+
+        assertFalse(customerService.checkUsernameAvailability("alex").isAvailable());
+        assertThrows(InvalidRequestException.class, () -> customerService.checkUsernameAvailability(" "));
+    }
+}
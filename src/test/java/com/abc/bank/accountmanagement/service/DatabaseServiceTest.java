@@ -1,36 +1,66 @@
 package com.abc.bank.accountmanagement.service;
 
-import com.abc.bank.accountmanagement.exception.TooManyRequestsException;
+import com.abc.bank.accountmanagement.event.CustomerChangedEvent;
+import com.abc.bank.accountmanagement.exception.UsernameAlreadyExistsException;
 import com.abc.bank.accountmanagement.exception.UsernameNotFoundException;
 import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.model.CustomerCredentials;
 import com.abc.bank.accountmanagement.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest(classes = DatabaseServiceImpl.class)
+@SpringBootTest(classes = {DatabaseServiceImpl.class, SimpleMeterRegistry.class})
 class DatabaseServiceTest {
 
     @MockBean
-    private RateLimiterService rateLimiterService;
+    private CustomerRepository customerRepository;
 
     @MockBean
-    private CustomerRepository customerRepository;
+    private EntityManager entityManager;
+
+    @MockBean
+    private UsernameFilterService usernameFilterService;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
 
     @Autowired
     private DatabaseService databaseService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Customer customer;
+    private CustomerCredentials credentials;
 
     @BeforeEach
     public void setup() {
@@ -44,99 +74,256 @@ class DatabaseServiceTest {
                 .username("alex")
                 .password("12345")
                 .build();
+        credentials = new CustomerCredentials(1L, "alex", "12345");
+        // The lookup cache lives as long as the shared context, so start every test with "alex" uncached.
+        eventPublisher.publishEvent(new CustomerChangedEvent(1L, "alex"));
     }
 
     @Test
     @DisplayName("Save customer successfully")
     public void testSaveCustomerSuccess() {
-        given(rateLimiterService.tryConsume()).willReturn(true);
-        given(customerRepository.save(any(Customer.class))).willReturn(customer);
+        given(customerRepository.saveAndFlush(any(Customer.class))).willReturn(customer);
 
         Customer savedCustomer = databaseService.saveCustomer(customer);
 
         assertNotNull(savedCustomer);
         assertEquals("alex", savedCustomer.getUsername());
-        verify(rateLimiterService, times(1)).tryConsume();
-        verify(customerRepository, times(1)).save(customer);
+        verify(customerRepository, times(1)).saveAndFlush(customer);
+        verify(customerRepository, never()).findCredentialsByUsername(anyString());
     }
 
     @Test
-    @DisplayName("Save customer fails due to rate limit")
-    public void testSaveCustomerRateLimitExceeded() {
-        given(rateLimiterService.tryConsume()).willReturn(false);
+    @DisplayName("Save customer translates a username unique index violation")
+    public void testSaveCustomerDuplicateUsername() {
+        given(customerRepository.saveAndFlush(any(Customer.class))).willThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("Duplicate entry 'alex'", new SQLException(), "customer." + Customer.USERNAME_UNIQUE_INDEX)));
 
-        assertThrows(TooManyRequestsException.class, () -> {
+        assertThrows(UsernameAlreadyExistsException.class, () -> {
             databaseService.saveCustomer(customer);
         });
-
-        verify(rateLimiterService, times(1)).tryConsume();
-        verify(customerRepository, never()).save(customer);
     }
 
     @Test
-    @DisplayName("Find customer by username successfully")
-    public void testFindCustomerByUsernameSuccess() {
-        given(rateLimiterService.tryConsume()).willReturn(true);
-        given(customerRepository.findByUsername(anyString())).willReturn(Optional.of(customer));
+    @DisplayName("Save customer rethrows violations of other constraints")
+    public void testSaveCustomerOtherConstraintViolation() {
+        given(customerRepository.saveAndFlush(any(Customer.class))).willThrow(new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("Column 'name' cannot be null", new SQLException(), null)));
 
-        Customer foundCustomer = databaseService.findCustomerByUsername("alex");
-
-        assertNotNull(foundCustomer);
-        assertEquals("alex", foundCustomer.getUsername());
-        verify(rateLimiterService, times(1)).tryConsume();
-        verify(customerRepository, times(1)).findByUsername("alex");
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            databaseService.saveCustomer(customer);
+        });
     }
 
     @Test
-    @DisplayName("Find customer by username fails due to rate limit")
-    public void testFindCustomerByUsernameRateLimitExceeded() {
-        given(rateLimiterService.tryConsume()).willReturn(false);
+    @DisplayName("Find credentials by username successfully")
+    public void testFindCredentialsByUsernameSuccess() {
+        given(customerRepository.findCredentialsByUsername(anyString())).willReturn(Optional.of(credentials));
 
-        assertThrows(TooManyRequestsException.class, () -> {
-            databaseService.findCustomerByUsername("alex");
-        });
+        CustomerCredentials found = databaseService.findCredentialsByUsername("alex");
 
-        verify(rateLimiterService, times(1)).tryConsume();
-        verify(customerRepository, never()).findByUsername("alex");
+        assertNotNull(found);
+        assertEquals("alex", found.username());
+        verify(customerRepository, times(1)).findCredentialsByUsername("alex");
     }
 
     @Test
-    @DisplayName("Find customer by username throws UsernameNotFoundException")
-    public void testFindCustomerByUsernameNotFound() {
-        given(rateLimiterService.tryConsume()).willReturn(true);
-        given(customerRepository.findByUsername(anyString())).willReturn(Optional.empty());
+    @DisplayName("Find credentials by username throws UsernameNotFoundException")
+    public void testFindCredentialsByUsernameNotFound() {
+        given(customerRepository.findCredentialsByUsername(anyString())).willReturn(Optional.empty());
 
         assertThrows(UsernameNotFoundException.class, () -> {
-            databaseService.findCustomerByUsername("alex");
+            databaseService.findCredentialsByUsername("alex");
         });
 
-        verify(rateLimiterService, times(1)).tryConsume();
-        verify(customerRepository, times(1)).findByUsername("alex");
+        verify(customerRepository, times(1)).findCredentialsByUsername("alex");
     }
 
     @Test
     @DisplayName("Check username availability successfully")
     public void testCheckUsernameAvailabilitySuccess() {
-        given(rateLimiterService.tryConsume()).willReturn(true);
-        given(customerRepository.findByUsername(anyString())).willReturn(Optional.empty());
+        given(usernameFilterService.mightContain("alex")).willReturn(true);
+        given(customerRepository.findCredentialsByUsername(anyString())).willReturn(Optional.empty());
 
         boolean isAvailable = databaseService.checkUsernameAvailability("alex");
 
         assertTrue(isAvailable);
-        verify(rateLimiterService, times(1)).tryConsume();
-        verify(customerRepository, times(1)).findByUsername("alex");
+        verify(customerRepository, times(1)).findCredentialsByUsername("alex");
     }
 
     @Test
-    @DisplayName("Check username availability fails due to rate limit")
-    public void testCheckUsernameAvailabilityRateLimitExceeded() {
-        given(rateLimiterService.tryConsume()).willReturn(false);
+    @DisplayName("Find credentials by username serves repeated lookups from the cache")
+    public void testFindCredentialsByUsernameCached() {
+        given(customerRepository.findCredentialsByUsername("alex")).willReturn(Optional.of(credentials));
 
-        assertThrows(TooManyRequestsException.class, () -> {
-            databaseService.checkUsernameAvailability("alex");
-        });
+        databaseService.findCredentialsByUsername("alex");
+        CustomerCredentials found = databaseService.findCredentialsByUsername("alex");
+
+        assertSame(credentials, found);
+        verify(customerRepository, times(1)).findCredentialsByUsername("alex");
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", "customers").tag("result", "hit")
+                .functionCounter().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Lookups and evictions ignore the case of the username")
+    public void testCacheKeyIgnoresCase() {
+        given(customerRepository.findCredentialsByUsername(anyString())).willReturn(Optional.of(credentials));
+
+        databaseService.findCredentialsByUsername("Alex");
+        assertSame(credentials, databaseService.findCredentialsByUsername("alex"));
+        verify(customerRepository, times(1)).findCredentialsByUsername(anyString());
+
+        eventPublisher.publishEvent(new CustomerChangedEvent(1L, "ALEX"));
+        databaseService.findCredentialsByUsername("alex");
+        verify(customerRepository, times(2)).findCredentialsByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Unknown usernames are cached too")
+    public void testUnknownUsernameCached() {
+        given(usernameFilterService.mightContain("alex")).willReturn(true);
+        given(customerRepository.findCredentialsByUsername("alex")).willReturn(Optional.empty());
+
+        assertTrue(databaseService.checkUsernameAvailability("alex"));
+        assertThrows(UsernameNotFoundException.class, () -> databaseService.findCredentialsByUsername("alex"));
+
+        verify(customerRepository, times(1)).findCredentialsByUsername("alex");
+    }
+
+    @Test
+    @DisplayName("Saving a customer evicts its cached lookup")
+    public void testSaveCustomerInvalidatesCache() {
+        given(usernameFilterService.mightContain("alex")).willReturn(true);
+        given(customerRepository.findCredentialsByUsername("alex")).willReturn(Optional.empty());
+        assertTrue(databaseService.checkUsernameAvailability("alex"));
+
+        given(customerRepository.saveAndFlush(any(Customer.class))).willReturn(customer);
+        given(customerRepository.findCredentialsByUsername("alex")).willReturn(Optional.of(credentials));
+        databaseService.saveCustomer(customer);
+
+        assertFalse(databaseService.checkUsernameAvailability("alex"));
+        assertEquals(credentials, databaseService.findCredentialsByUsername("alex"));
+        verify(customerRepository, times(2)).findCredentialsByUsername("alex");
+    }
+
+    @Test
+    @DisplayName("Get page delegates to keyset query with the requested limit")
+    public void testGetPage() {
+        given(customerRepository.findByIdGreaterThanOrderByIdAsc(eq(5L), any(Pageable.class))).willReturn(List.of(customer));
+
+        List<Customer> page = databaseService.getPage(5L, 10);
+
+        assertEquals(1, page.size());
+        verify(customerRepository, times(1)).findByIdGreaterThanOrderByIdAsc(5L, PageRequest.ofSize(10));
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Stream all reads keyset pages and detaches each customer before handing it on")
+    public void testStreamAll() {
+        List<Customer> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            firstPage.add(Customer.builder().id(id).username("user" + id).build());
+        }
+        given(customerRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).willReturn(firstPage);
+        given(customerRepository.findByIdGreaterThanOrderByIdAsc(eq(500L), any(Pageable.class))).willReturn(List.of(customer));
+        List<Customer> received = new ArrayList<>();
+
+        databaseService.streamAll(received::add);
+
+        assertEquals(501, received.size());
+        assertSame(customer, received.get(500));
+        verify(entityManager, times(501)).detach(any(Customer.class));
+        verify(customerRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class));
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Check username availability skips the database when the filter rules the name out")
+    public void testCheckUsernameAvailabilityFilteredOut() {
+        given(usernameFilterService.mightContain("alex")).willReturn(false);
+
+        assertTrue(databaseService.checkUsernameAvailability("alex"));
+
+        verify(customerRepository, never()).findCredentialsByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Save customer adds the username to the filter")
+    public void testSaveCustomerUpdatesFilter() {
+        given(customerRepository.saveAndFlush(any(Customer.class))).willReturn(customer);
+
+        databaseService.saveCustomer(customer);
+
+        verify(usernameFilterService, times(1)).put("alex");
+    }
+
+    @Test
+    @DisplayName("Save customers inserts each chunk in one transaction")
+    public void testSaveCustomersBatch() {
+        given(customerRepository.saveAll(anyIterable())).willAnswer(invocation -> invocation.getArgument(0));
+        Customer other = Customer.builder().username("bram").build();
+
+        List<CustomerSaveResult> results = databaseService.saveCustomers(List.of(customer, other));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSaved());
+        assertSame(other, results.get(1).customer());
+        verify(customerRepository, times(1)).saveAll(anyIterable());
+        verify(customerRepository, times(1)).flush();
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Save customers retries a failed chunk row by row and reports each outcome")
+    public void testSaveCustomersChunkFailure() {
+        Customer duplicate = Customer.builder().id(7L).username("taken").build();
+        given(customerRepository.saveAll(anyIterable())).willThrow(new DataIntegrityViolationException("duplicate"));
+        given(customerRepository.saveAndFlush(customer)).willReturn(customer);
+        given(customerRepository.saveAndFlush(duplicate)).willThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("Duplicate entry 'taken'", new SQLException(), "customer." + Customer.USERNAME_UNIQUE_INDEX)));
+
+        List<CustomerSaveResult> results = databaseService.saveCustomers(List.of(customer, duplicate));
+
+        assertTrue(results.get(0).isSaved());
+        assertFalse(results.get(1).isSaved());
+        assertInstanceOf(UsernameAlreadyExistsException.class, results.get(1).failure());
+        // Ids assigned during the rolled back attempt are cleared before the retry.
+        assertNull(duplicate.getId());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Save customers reports a chunk lost to a database failure without dropping the chunks already saved")
+    public void testSaveCustomersTransientChunkFailure() {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            customers.add(Customer.builder().username("user" + i).build());
+        }
+        given(customerRepository.saveAll(anyIterable()))
+                .willAnswer(invocation -> invocation.getArgument(0))
+                .willThrow(new QueryTimeoutException("timeout"));
+
+        List<CustomerSaveResult> results = databaseService.saveCustomers(customers);
+
+        assertEquals(51, results.size());
+        assertTrue(results.subList(0, 50).stream().allMatch(CustomerSaveResult::isSaved));
+        assertFalse(results.get(50).isSaved());
+        assertInstanceOf(QueryTimeoutException.class, results.get(50).failure());
+        // The rows of the failed chunk are not retried one by one; the database would fail them all the same.
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("Lookups query the lower-cased username they are cached under")
+    public void testLookupQueriesNormalizedUsername() {
+        given(customerRepository.findCredentialsByUsername("alex")).willReturn(Optional.of(credentials));
+
+        assertEquals(credentials, databaseService.findCredentialsByUsername("ALEX"));
+        assertEquals(credentials, databaseService.findCredentialsByUsername("alex"));
 
-        verify(rateLimiterService, times(1)).tryConsume();
-        verify(customerRepository, never()).findByUsername("alex");
+        verify(customerRepository, times(1)).findCredentialsByUsername("alex");
+        verify(customerRepository, never()).findCredentialsByUsername("ALEX");
     }
-}
\ No newline at end of file
+}
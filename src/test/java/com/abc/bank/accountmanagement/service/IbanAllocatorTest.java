@@ -0,0 +1,80 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.abc.bank.accountmanagement.util.IbanUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// schema.sql creates the iban_sequence table; each test uses fresh allocators so no block survives the reset.
+@JdbcTest
+@Import(IbanAllocator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IbanAllocatorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM iban_sequence");
+    }
+
+    @Test
+    @DisplayName("Account numbers are served from reserved blocks above the legacy range")
+    void testBlockReservation() {
+        IbanAllocator fresh = new IbanAllocator(jdbcTemplate, 10);
+
+        assertEquals(IbanAllocator.FIRST_ACCOUNT_NUMBER, fresh.nextAccountNumber());
+        assertEquals(IbanAllocator.FIRST_ACCOUNT_NUMBER + 10, nextValue());
+
+        for (int i = 1; i < 10; i++) {
+            fresh.nextAccountNumber();
+        }
+        // The first block lasted for ten numbers without touching the database.
+        assertEquals(IbanAllocator.FIRST_ACCOUNT_NUMBER + 10, nextValue());
+
+        assertEquals(IbanAllocator.FIRST_ACCOUNT_NUMBER + 10, fresh.nextAccountNumber());
+        assertEquals(IbanAllocator.FIRST_ACCOUNT_NUMBER + 20, nextValue());
+    }
+
+    @Test
+    @DisplayName("Instances sharing the database never hand out the same IBAN")
+    void testUniqueAcrossInstances() throws InterruptedException {
+        IbanAllocator allocator = new IbanAllocator(jdbcTemplate, 10);
+        IbanAllocator otherInstance = new IbanAllocator(jdbcTemplate, 10);
+        Set<String> ibans = ConcurrentHashMap.newKeySet();
+
+        Thread[] workers = new Thread[4];
+        for (int t = 0; t < workers.length; t++) {
+            IbanAllocator target = t % 2 == 0 ? allocator : otherInstance;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    ibans.add(target.nextIban());
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(1000, ibans.size());
+        assertTrue(ibans.stream().allMatch(IbanUtil::isValid));
+    }
+
+    private long nextValue() {
+        return jdbcTemplate.queryForObject("SELECT next_value FROM iban_sequence WHERE sequence_name = ?", Long.class,
+                IbanAllocator.SEQUENCE_NAME);
+    }
+}
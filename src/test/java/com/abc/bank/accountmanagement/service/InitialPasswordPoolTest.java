@@ -0,0 +1,66 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.abc.bank.accountmanagement.service.InitialPasswordPool.InitialPassword;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InitialPasswordPoolTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private SimpleMeterRegistry meterRegistry;
+    private InitialPasswordPool pool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new InitialPasswordPool(passwordEncoder, meterRegistry, 20, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.stop();
+    }
+
+    @Test
+    @DisplayName("An empty pool falls back to hashing on the calling thread")
+    void testFallbackWhenEmpty() {
+        InitialPassword initialPassword = pool.take();
+
+        assertTrue(passwordEncoder.matches(initialPassword.password(), initialPassword.hash()));
+        assertEquals(1.0, meterRegistry.get("initial.password.pool.fallbacks").counter().count());
+        assertEquals(0.0, meterRegistry.get("initial.password.pool.taken").counter().count());
+    }
+
+    @Test
+    @DisplayName("Background workers fill the pool up to its bound and refill what is taken")
+    void testBackgroundRefill() throws InterruptedException {
+        pool.start();
+        awaitSize(20);
+
+        InitialPassword first = pool.take();
+        InitialPassword second = pool.take();
+
+        assertTrue(passwordEncoder.matches(first.password(), first.hash()));
+        assertNotEquals(first.password(), second.password());
+        assertEquals(2.0, meterRegistry.get("initial.password.pool.taken").counter().count());
+        assertEquals(0.0, meterRegistry.get("initial.password.pool.fallbacks").counter().count());
+
+        awaitSize(20);
+        assertTrue(meterRegistry.get("initial.password.pool.refills").counter().count() >= 22);
+        assertEquals(20.0, meterRegistry.get("initial.password.pool.size").gauge().value());
+    }
+
+    private void awaitSize(int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, pool.size());
+    }
+}
@@ -0,0 +1,122 @@
+package com.abc.bank.accountmanagement.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@JdbcTest
+@Import(JdbcRateLimitBackend.class)
+@TestPropertySource(properties = {
+        "rate-limit.mode=distributed",
+        "rate-limit.refill-period=PT1H"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcRateLimitBackendTest {
+
+    @Autowired
+    private JdbcRateLimitBackend backend;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Replicas sharing the database share one limit")
+    void testLimitIsSharedAcrossReplicas() {
+        JdbcRateLimitBackend otherReplica = new JdbcRateLimitBackend(jdbcTemplate, Duration.ofHours(1), 1000, Duration.ofMinutes(10), 5);
+
+        int granted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (backend.tryConsume("ip:shared", 10)) {
+                granted++;
+            }
+            if (otherReplica.tryConsume("ip:shared", 10)) {
+                granted++;
+            }
+        }
+
+        assertEquals(10, granted);
+    }
+
+    @Test
+    @DisplayName("By default tokens are taken from the database in chunks of five and served locally")
+    void testLocalBatching() {
+        assertTrue(backend.tryConsume("ip:batched", 10));
+        assertEquals(5_000_000L, storedTokens("ip:batched"));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(backend.tryConsume("ip:batched", 10));
+        }
+        // The first chunk covered all five calls without touching the stored bucket.
+        assertEquals(5_000_000L, storedTokens("ip:batched"));
+
+        assertTrue(backend.tryConsume("ip:batched", 10));
+        // Only the fraction refilled while the test ran is left.
+        assertTrue(storedTokens("ip:batched") < 1_000_000L);
+    }
+
+    @Test
+    @DisplayName("A chunk from an existing bucket costs one UPDATE and no SELECT")
+    void testChunkIsTakenInOneStatement() {
+        JdbcTemplate countingTemplate = spy(jdbcTemplate);
+        JdbcRateLimitBackend replica = new JdbcRateLimitBackend(countingTemplate, Duration.ofHours(1), 1000, Duration.ofMinutes(10), 5);
+        long now = System.currentTimeMillis();
+        assertEquals(5, replica.reserve("ip:single-statement", 5, 20, now));
+        clearInvocations(countingTemplate);
+
+        assertEquals(5, replica.reserve("ip:single-statement", 5, 20, now));
+
+        verify(countingTemplate, times(1)).update(anyString(), any(Object[].class));
+        verify(countingTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+        assertEquals(10_000_000L, storedTokens("ip:single-statement"));
+    }
+
+    @Test
+    @DisplayName("An empty shared bucket denies requests")
+    void testExhaustedBucket() {
+        assertEquals(10, backend.reserve("ip:exhausted", 10, 10, System.currentTimeMillis()));
+        assertEquals(0, backend.reserve("ip:exhausted", 1, 10, System.currentTimeMillis()));
+        assertFalse(backend.tryConsume("ip:exhausted", 10));
+    }
+
+    @Test
+    @DisplayName("A refunded token is served again from the local batch")
+    void testRefund() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(backend.tryConsume("ip:refunded", 5));
+        }
+        assertFalse(backend.tryConsume("ip:refunded", 5));
+
+        backend.refund("ip:refunded", 5);
+
+        assertTrue(backend.tryConsume("ip:refunded", 5));
+        assertFalse(backend.tryConsume("ip:refunded", 5));
+    }
+
+    @Test
+    @DisplayName("Idle buckets are removed from the database")
+    void testDeleteIdleBuckets() {
+        jdbcTemplate.update("INSERT INTO rate_limit_bucket (bucket_key, tokens, refilled_at, version) VALUES (?, 0, 0, 0)", "ip:idle");
+
+        backend.deleteIdleBuckets();
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rate_limit_bucket WHERE bucket_key = ?", Integer.class, "ip:idle"));
+    }
+
+    private long storedTokens(String key) {
+        return jdbcTemplate.queryForObject("SELECT tokens FROM rate_limit_bucket WHERE bucket_key = ?", Long.class, key);
+    }
+}
@@ -0,0 +1,85 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.abc.bank.accountmanagement.security.TokenService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitKeyResolverTest {
+
+    private final TokenService tokenService = new TokenService("", Duration.ofMinutes(5));
+    private final RateLimitKeyResolver keyResolver = new RateLimitKeyResolver(tokenService);
+
+    @Test
+    @DisplayName("Anonymous request is keyed by client IP only")
+    void testIpOnly() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+
+        assertEquals(List.of("ip:10.0.0.1"), keyResolver.resolve(request));
+    }
+
+    @Test
+    @DisplayName("Valid session token and API key add customer and API key buckets")
+    void testCustomerAndApiKey() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.setCookies(new Cookie(TokenService.TOKEN_COOKIE, tokenService.generateToken(7L)));
+        request.addHeader(RateLimitKeyResolver.API_KEY_HEADER, "partner-1");
+
+        assertEquals(List.of("ip:10.0.0.1", "customer:7", "api-key:partner-1"), keyResolver.resolve(request));
+    }
+
+    @Test
+    @DisplayName("Unverified Basic username and invalid token do not become keys")
+    void testUnverifiedIdentitiesAreIgnored() {
+        MockHttpServletRequest basic = new MockHttpServletRequest();
+        basic.setRemoteAddr("10.0.0.1");
+        basic.addHeader("Authorization", "Basic " + Base64.getEncoder().encodeToString("alex:secret".getBytes(StandardCharsets.UTF_8)));
+
+        MockHttpServletRequest forged = new MockHttpServletRequest();
+        forged.setRemoteAddr("10.0.0.1");
+        forged.addHeader("Authorization", "Bearer not-a-token");
+
+        assertEquals(List.of("ip:10.0.0.1"), keyResolver.resolve(basic));
+        assertEquals(List.of("ip:10.0.0.1"), keyResolver.resolve(forged));
+    }
+
+    @Test
+    @DisplayName("Oversized keys are truncated")
+    void testMalformedInput() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(RateLimitKeyResolver.API_KEY_HEADER, "k".repeat(1000));
+
+        List<String> keys = keyResolver.resolve(request);
+
+        assertEquals(2, keys.size());
+        assertEquals("api-key:" + "k".repeat(64), keys.get(1));
+    }
+
+    @Test
+    @DisplayName("Requests are classified as authentication, write or read")
+    void testClassify() {
+        assertEquals(OperationClass.AUTHENTICATION, keyResolver.classify(new MockHttpServletRequest("POST", "/api/logon")));
+        assertEquals(OperationClass.WRITE, keyResolver.classify(new MockHttpServletRequest("POST", "/api/register")));
+        assertEquals(OperationClass.READ, keyResolver.classify(new MockHttpServletRequest("GET", "/api/overview")));
+    }
+
+    @Test
+    @DisplayName("Requests with Basic credentials are charged as authentication")
+    void testClassifyBasicCredentials() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/overview");
+        request.addHeader("Authorization", "Basic " + Base64.getEncoder().encodeToString("alex:secret".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(OperationClass.AUTHENTICATION, keyResolver.classify(request));
+    }
+}
@@ -1,9 +1,15 @@
 package com.abc.bank.accountmanagement.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 @SpringBootTest
@@ -12,6 +18,12 @@ class RateLimiterServiceTest {
     @Autowired
     RateLimiterService rateLimiterService;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    RateLimitKeyResolver keyResolver;
+
     @BeforeEach
     public void setup() throws InterruptedException {
         //Wait 1 second to allow the bucket to refill before each test.
@@ -19,31 +31,166 @@ class RateLimiterServiceTest {
     }
     @Test
     public void testTryConsumeWithinLimit() {
-        assertTrue(rateLimiterService.tryConsume());
-        assertTrue(rateLimiterService.tryConsume());
+        for (int i = 0; i < readCapacity(rateLimiterService); i++) {
+            assertTrue(rateLimiterService.tryConsume(request("GET", "/api/overview", "10.0.0.1")));
+        }
     }
 
     @Test
     public void testTryConsumeExceedingLimit() {
-        assertTrue(rateLimiterService.tryConsume());
-        assertTrue(rateLimiterService.tryConsume());
+        for (int i = 0; i < readCapacity(rateLimiterService); i++) {
+            assertTrue(rateLimiterService.tryConsume(request("GET", "/api/overview", "10.0.0.2")));
+        }
 
-        // Third call will return false because the limit is exceeded.
-        assertFalse(rateLimiterService.tryConsume());
+        // The next call is rejected because the read floor and the shared pool are spent.
+        assertFalse(rateLimiterService.tryConsume(request("GET", "/api/overview", "10.0.0.2")));
     }
 
     @Test
     public void testTryConsumeAfterRefill() throws InterruptedException {
-        assertTrue(rateLimiterService.tryConsume());
-        assertTrue(rateLimiterService.tryConsume());
-
-        // Third call will return false because the limit is exceeded.
-        assertFalse(rateLimiterService.tryConsume());
+        for (int i = 0; i < readCapacity(rateLimiterService); i++) {
+            assertTrue(rateLimiterService.tryConsume(request("GET", "/api/overview", "10.0.0.10")));
+        }
+        assertFalse(rateLimiterService.tryConsume(request("GET", "/api/overview", "10.0.0.10")));
 
-         // Wait 1 second to allow the bucket to refill.
+        // Wait 1 second to allow the bucket to refill.
         Thread.sleep(1000);
 
-        assertTrue(rateLimiterService.tryConsume());
-        assertTrue(rateLimiterService.tryConsume());
+        assertTrue(rateLimiterService.tryConsume(request("GET", "/api/overview", "10.0.0.10")));
+    }
+
+    @Test
+    public void testKeysHaveIndependentBuckets() {
+        while (rateLimiterService.tryConsume(request("GET", "/api/overview", "10.0.0.11"))) {
+            // drain the read floor and the shared pool
+        }
+
+        // A noisy client does not throttle anybody else.
+        assertTrue(rateLimiterService.tryConsume(request("GET", "/api/overview", "10.0.0.12")));
+    }
+
+    @Test
+    public void testRequestIsChargedToEveryKey() {
+        for (int i = 0; i < writeCapacity(rateLimiterService); i++) {
+            assertTrue(rateLimiterService.tryConsume(partnerRequest("10.0.0.3", "partner-1")));
+        }
+        assertFalse(rateLimiterService.tryConsume(partnerRequest("10.0.0.3", "partner-1")));
+
+        // The API key bucket is exhausted even when the partner calls from another address.
+        assertFalse(rateLimiterService.tryConsume(partnerRequest("10.0.0.4", "partner-1")));
+        assertTrue(rateLimiterService.tryConsume(request("POST", "/api/register", "10.0.0.4")));
+    }
+
+    @Test
+    @DisplayName("A request rejected on one key is not charged to its other keys")
+    public void testRejectedRequestIsRefunded() {
+        // Exhaust the API key from elsewhere, the shared pool included.
+        while (rateLimiterService.tryConsume(partnerRequest("10.0.0.7", "partner-2"))) {
+            // drain
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertFalse(rateLimiterService.tryConsume(partnerRequest("10.0.0.8", "partner-2")));
+        }
+
+        // The IP key paid nothing for the rejected requests.
+        for (int i = 0; i < writeCapacity(rateLimiterService); i++) {
+            assertTrue(rateLimiterService.tryConsume(request("POST", "/api/register", "10.0.0.8")));
+        }
+    }
+
+    @Test
+    public void testReadsCannotStarveLogins() {
+        while (rateLimiterService.tryConsume(request("GET", "/api/overview", "10.0.0.5"))) {
+            // drain the read floor and the shared pool
+        }
+
+        // Logins keep their own floor.
+        assertTrue(rateLimiterService.tryConsume(request("POST", "/api/logon", "10.0.0.5")));
+    }
+
+    @Test
+    @DisplayName("The default configuration gives every class a floor and keeps half of the capacity shared")
+    public void testDefaultConfiguration() {
+        assertEquals(3, rateLimiterService.guaranteedCapacity(OperationClass.AUTHENTICATION));
+        assertEquals(1, rateLimiterService.guaranteedCapacity(OperationClass.WRITE));
+        assertEquals(1, rateLimiterService.guaranteedCapacity(OperationClass.READ));
+        assertEquals(5, rateLimiterService.sharedCapacity());
+    }
+
+    @Test
+    @DisplayName("Floors and shared pool add up to exactly the capacity")
+    public void testSharesAddUpToCapacity() {
+        RateLimiterService larger = newRateLimiterService(101);
+        assertEquals(101, larger.guaranteedCapacity(OperationClass.AUTHENTICATION)
+                + larger.guaranteedCapacity(OperationClass.WRITE)
+                + larger.guaranteedCapacity(OperationClass.READ)
+                + larger.sharedCapacity());
+
+        assertArrayEquals(new long[]{500, 300, 200}, RateLimiterService.apportion(1000, new double[]{0.5, 0.3, 0.2}));
+        assertArrayEquals(new long[]{1, 1, 0}, RateLimiterService.apportion(2, new double[]{0.5, 0.3, 0.2}));
+    }
+
+    @Test
+    @DisplayName("A capacity too small to give every class a floor is rejected")
+    public void testCapacityWithoutFloorsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> newRateLimiterService(2));
+    }
+
+    @Test
+    @DisplayName("Writes cannot borrow the floor of reads")
+    public void testWritesCannotStarveReads() {
+        RateLimiterService larger = newRateLimiterService(10);
+        for (int i = 0; i < writeCapacity(larger); i++) {
+            assertTrue(larger.tryConsume(request("POST", "/api/register", "10.0.0.6")));
+        }
+        assertFalse(larger.tryConsume(request("POST", "/api/register", "10.0.0.6")));
+
+        assertTrue(larger.tryConsume(request("GET", "/api/overview", "10.0.0.6")));
+        assertFalse(larger.tryConsume(request("GET", "/api/overview", "10.0.0.6")));
+        for (int i = 0; i < larger.guaranteedCapacity(OperationClass.AUTHENTICATION); i++) {
+            assertTrue(larger.tryConsume(request("POST", "/api/logon", "10.0.0.6")));
+        }
+        assertFalse(larger.tryConsume(request("POST", "/api/logon", "10.0.0.6")));
+    }
+
+    @Test
+    @DisplayName("Admission decisions are timed per operation class and outcome")
+    public void testDecisionsAreTimed() {
+        MockHttpServletRequest request = request("GET", "/api/overview", "10.0.0.9");
+        double allowedBefore = meterRegistry.get("rate.limit.decision").tag("class", "read").tag("outcome", "allowed").timer().count();
+        double rejectedBefore = meterRegistry.get("rate.limit.decision").tag("class", "read").tag("outcome", "rejected").timer().count();
+
+        while (rateLimiterService.tryConsume(request)) {
+            // drain the read floor and the shared pool
+        }
+
+        assertTrue(meterRegistry.get("rate.limit.decision").tag("class", "read").tag("outcome", "allowed").timer().count() > allowedBefore);
+        assertEquals(rejectedBefore + 1, meterRegistry.get("rate.limit.decision").tag("class", "read").tag("outcome", "rejected").timer().count());
+    }
+
+    private RateLimiterService newRateLimiterService(long capacity) {
+        return new RateLimiterService(keyResolver, new LocalRateLimitBackend(Duration.ofHours(1), 1000, Duration.ofMinutes(10)),
+                new SimpleMeterRegistry(), capacity, 0.5, 0.3, 0.2, 0.5);
+    }
+
+    private static long readCapacity(RateLimiterService service) {
+        return service.guaranteedCapacity(OperationClass.READ) + service.sharedCapacity();
+    }
+
+    private static long writeCapacity(RateLimiterService service) {
+        return service.guaranteedCapacity(OperationClass.WRITE) + service.sharedCapacity();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static MockHttpServletRequest partnerRequest(String remoteAddr, String apiKey) {
+        MockHttpServletRequest request = request("POST", "/api/register", remoteAddr);
+        request.addHeader(RateLimitKeyResolver.API_KEY_HEADER, apiKey);
+        return request;
     }
-}
\ No newline at end of file
+}
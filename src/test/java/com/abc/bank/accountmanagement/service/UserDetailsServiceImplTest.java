@@ -1,7 +1,7 @@
 package com.abc.bank.accountmanagement.service;
 
 import com.abc.bank.accountmanagement.exception.UsernameNotFoundException;
-import com.abc.bank.accountmanagement.model.Customer;
+import com.abc.bank.accountmanagement.model.CustomerCredentials;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -26,11 +26,7 @@ class UserDetailsServiceImplTest {
     void loadUserByUsername_UserExists_ReturnsUserDetails() {
         String username = "testuser";
         String password = "password";
-        Customer customer = Customer.builder()
-                .username(username)
-                .password(password)
-                .build();
-        given(databaseService.findCustomerByUsername(username)).willReturn(customer);
+        given(databaseService.findCredentialsByUsername(username)).willReturn(new CustomerCredentials(1L, username, password));
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
@@ -43,7 +39,7 @@ class UserDetailsServiceImplTest {
     @DisplayName("Should throw UsernameNotFoundException when user does not exist")
     void loadUserByUsername_UserDoesNotExist_ThrowsUsernameNotFoundException() {
         String username = "nonexistentuser";
-        given(databaseService.findCustomerByUsername(username)).willThrow(UsernameNotFoundException.class);
+        given(databaseService.findCredentialsByUsername(username)).willThrow(UsernameNotFoundException.class);
 
         assertThrows(UsernameNotFoundException.class, () -> {
             userDetailsService.loadUserByUsername(username);
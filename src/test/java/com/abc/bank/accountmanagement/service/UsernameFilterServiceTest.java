@@ -0,0 +1,57 @@
+package com.abc.bank.accountmanagement.service;
+
+import com.abc.bank.accountmanagement.event.RemoteCustomerChangedEvent;
+import com.abc.bank.accountmanagement.model.CustomerUsername;
+import com.abc.bank.accountmanagement.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class UsernameFilterServiceTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final UsernameFilterService usernameFilterService =
+            new UsernameFilterService(customerRepository, new SimpleMeterRegistry(), 2, 1000, 0.01);
+
+    @Test
+    @DisplayName("Every name is possibly taken until the first rebuild")
+    void testUnbuiltFilter() {
+        assertTrue(usernameFilterService.mightContain("alex"));
+    }
+
+    @Test
+    @DisplayName("The rebuild reads the usernames page by page")
+    void testRebuildReadsKeysetPages() {
+        given(customerRepository.findUsernamesByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class)))
+                .willReturn(List.of(new CustomerUsername(1L, "alex"), new CustomerUsername(2L, "Bram")));
+        given(customerRepository.findUsernamesByIdGreaterThanOrderByIdAsc(eq(2L), any(PageRequest.class)))
+                .willReturn(List.of(new CustomerUsername(3L, "carla")));
+
+        usernameFilterService.rebuild();
+
+        assertTrue(usernameFilterService.mightContain("alex"));
+        assertTrue(usernameFilterService.mightContain("bram"));
+        assertTrue(usernameFilterService.mightContain("carla"));
+        assertFalse(usernameFilterService.mightContain("dirk"));
+    }
+
+    @Test
+    @DisplayName("Names registered on other replicas are added when their change arrives")
+    void testRemoteRegistrationIsAdded() {
+        given(customerRepository.findUsernamesByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class))).willReturn(List.of());
+        usernameFilterService.rebuild();
+
+        usernameFilterService.onCustomerChanged(new RemoteCustomerChangedEvent(7L, "Eva"));
+
+        assertTrue(usernameFilterService.mightContain("eva"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.abc.bank.accountmanagement.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IbanUtilTest {
+
+    @Test
+    @DisplayName("Check digits match a known valid IBAN")
+    void testKnownIban() {
+        assertEquals("NL91ABNA0417164300", IbanUtil.toIban(417164300L));
+    }
+
+    @Test
+    @DisplayName("Every generated IBAN passes the mod-97 check")
+    void testGeneratedIbansAreValid() {
+        for (long accountNumber = 1_000_000_000L; accountNumber < 1_000_100_000L; accountNumber++) {
+            String iban = IbanUtil.toIban(accountNumber);
+            assertEquals(18, iban.length());
+            assertTrue(IbanUtil.isValid(iban), iban);
+        }
+        assertTrue(IbanUtil.isValid(IbanUtil.toIban(IbanUtil.MAX_ACCOUNT_NUMBER)));
+    }
+
+    @Test
+    @DisplayName("Wrong check digits and malformed input are rejected")
+    void testInvalidIbans() {
+        assertFalse(IbanUtil.isValid("NL92ABNA0417164300"));
+        assertFalse(IbanUtil.isValid("NL91ABNA0417164301"));
+        assertFalse(IbanUtil.isValid("NL91 ABNA 0417 1643 00"));
+        assertFalse(IbanUtil.isValid(null));
+    }
+
+    @Test
+    @DisplayName("Account numbers longer than ten digits are rejected")
+    void testAccountNumberOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> IbanUtil.toIban(IbanUtil.MAX_ACCOUNT_NUMBER + 1));
+        assertThrows(IllegalArgumentException.class, () -> IbanUtil.toIban(-1));
+    }
+}
@@ -0,0 +1,70 @@
+package com.abc.bank.accountmanagement.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenUtilTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    private Mac mac;
+    private final byte[] scratch = new byte[80];
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(new byte[32], "HmacSHA256"));
+    }
+
+    @Test
+    @DisplayName("A freshly generated token verifies to its customer id")
+    void testRoundTrip() {
+        String token = TokenUtil.generateToken(42L, NOW + 60, mac);
+
+        assertEquals(64, token.length());
+        assertEquals(42L, TokenUtil.verifyToken(token, NOW, mac, scratch));
+    }
+
+    @Test
+    @DisplayName("An expired token is rejected")
+    void testExpiredToken() {
+        String token = TokenUtil.generateToken(42L, NOW, mac);
+
+        assertEquals(TokenUtil.INVALID_TOKEN, TokenUtil.verifyToken(token, NOW, mac, scratch));
+    }
+
+    @Test
+    @DisplayName("A token with a modified payload is rejected")
+    void testTamperedToken() {
+        String token = TokenUtil.generateToken(42L, NOW + 60, mac);
+        char replacement = token.charAt(5) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, 5) + replacement + token.substring(6);
+
+        assertEquals(TokenUtil.INVALID_TOKEN, TokenUtil.verifyToken(tampered, NOW, mac, scratch));
+    }
+
+    @Test
+    @DisplayName("A token signed with another key is rejected")
+    void testForeignKey() throws Exception {
+        Mac otherMac = Mac.getInstance("HmacSHA256");
+        otherMac.init(new SecretKeySpec(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32}, "HmacSHA256"));
+        String token = TokenUtil.generateToken(42L, NOW + 60, otherMac);
+
+        assertEquals(TokenUtil.INVALID_TOKEN, TokenUtil.verifyToken(token, NOW, mac, scratch));
+    }
+
+    @Test
+    @DisplayName("Malformed tokens are rejected without throwing")
+    void testMalformedTokens() {
+        assertEquals(TokenUtil.INVALID_TOKEN, TokenUtil.verifyToken(null, NOW, mac, scratch));
+        assertEquals(TokenUtil.INVALID_TOKEN, TokenUtil.verifyToken("short", NOW, mac, scratch));
+        assertEquals(TokenUtil.INVALID_TOKEN, TokenUtil.verifyToken("*".repeat(64), NOW, mac, scratch));
+    }
+}
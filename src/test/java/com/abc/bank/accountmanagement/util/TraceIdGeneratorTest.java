@@ -0,0 +1,60 @@
+package com.abc.bank.accountmanagement.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceIdGeneratorTest {
+
+    @Test
+    @DisplayName("Generated ids have the W3C length and alphabet and do not repeat")
+    void testNewIds() {
+        Set<String> traceIds = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            String traceId = TraceIdGenerator.newTraceId();
+            assertTrue(TraceIdGenerator.isTraceId(traceId), traceId);
+            assertTrue(traceIds.add(traceId));
+        }
+        assertTrue(TraceIdGenerator.newSpanId().matches("[0-9a-f]{16}"));
+    }
+
+    @Test
+    @DisplayName("A traceparent built from generated ids parses back to its trace id")
+    void testTraceparentRoundTrip() {
+        String traceId = TraceIdGenerator.newTraceId();
+        String traceparent = TraceIdGenerator.traceparent(traceId, TraceIdGenerator.newSpanId());
+
+        assertTrue(traceparent.matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01"));
+        assertEquals(traceId, TraceIdGenerator.traceIdFromTraceparent(traceparent));
+    }
+
+    @Test
+    @DisplayName("Malformed traceparent headers are ignored")
+    void testInvalidTraceparent() {
+        assertNull(TraceIdGenerator.traceIdFromTraceparent(null));
+        assertNull(TraceIdGenerator.traceIdFromTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7"));
+        assertNull(TraceIdGenerator.traceIdFromTraceparent("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+        assertNull(TraceIdGenerator.traceIdFromTraceparent("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(TraceIdGenerator.traceIdFromTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"));
+        assertNull(TraceIdGenerator.traceIdFromTraceparent("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+    }
+
+    @Test
+    @DisplayName("Caller-supplied trace ids are limited in length and alphabet")
+    void testAcceptableTraceId() {
+        assertTrue(TraceIdGenerator.isAcceptableTraceId("trace-123"));
+        assertTrue(TraceIdGenerator.isAcceptableTraceId("A.b_C-1"));
+        assertTrue(TraceIdGenerator.isAcceptableTraceId("a".repeat(TraceIdGenerator.MAX_CLIENT_TRACE_ID_LENGTH)));
+        assertFalse(TraceIdGenerator.isAcceptableTraceId(null));
+        assertFalse(TraceIdGenerator.isAcceptableTraceId(""));
+        assertFalse(TraceIdGenerator.isAcceptableTraceId(" "));
+        assertFalse(TraceIdGenerator.isAcceptableTraceId("a".repeat(TraceIdGenerator.MAX_CLIENT_TRACE_ID_LENGTH + 1)));
+        assertFalse(TraceIdGenerator.isAcceptableTraceId("abc\r\ndef"));
+        assertFalse(TraceIdGenerator.isAcceptableTraceId("trace-\"1\""));
+        assertFalse(TraceIdGenerator.isAcceptableTraceId("trace\u00e9"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.abc.bank.accountmanagement.util;
+
+import com.abc.bank.accountmanagement.model.TsidIdentifierGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TsidGeneratorTest {
+
+    @Test
+    @DisplayName("Ids carry the node id and the creation time")
+    void testLayout() {
+        long now = TsidGenerator.EPOCH_MILLIS + 123_456_789L;
+        TsidGenerator generator = new TsidGenerator(42, () -> now);
+
+        long id = generator.nextId();
+
+        assertTrue(id > 0);
+        assertEquals(42, TsidGenerator.nodeId(id));
+        assertEquals(now, TsidGenerator.timestampMillis(id));
+    }
+
+    @Test
+    @DisplayName("Ids keep increasing when the counter overflows within one millisecond")
+    void testCounterOverflow() {
+        long now = TsidGenerator.EPOCH_MILLIS + 1_000L;
+        TsidGenerator generator = new TsidGenerator(1, () -> now);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertEquals(1, TsidGenerator.nodeId(id));
+            previous = id;
+        }
+        // 10001 ids need three milliseconds worth of counter, so the embedded time runs ahead of the clock.
+        assertEquals(now + 2, TsidGenerator.timestampMillis(previous));
+    }
+
+    @Test
+    @DisplayName("Ids keep increasing when the clock moves backwards")
+    void testClockRollback() {
+        AtomicLong clock = new AtomicLong(TsidGenerator.EPOCH_MILLIS + 5_000L);
+        TsidGenerator generator = new TsidGenerator(7, clock::get);
+
+        long beforeRollback = generator.nextId();
+        clock.addAndGet(-2_000L);
+        long afterRollback = generator.nextId();
+
+        assertTrue(afterRollback > beforeRollback);
+        assertEquals(TsidGenerator.timestampMillis(beforeRollback), TsidGenerator.timestampMillis(afterRollback));
+    }
+
+    @Test
+    @DisplayName("Concurrent callers never receive the same id")
+    void testConcurrentUniqueness() throws InterruptedException {
+        TsidGenerator generator = new TsidGenerator(3);
+        int threads = 4;
+        int idsPerThread = 250_000;
+        long[][] ids = new long[threads][idsPerThread];
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long[] target = ids[t];
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < idsPerThread; i++) {
+                    target[i] = generator.nextId();
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long[] all = Arrays.stream(ids).flatMapToLong(Arrays::stream).sorted().toArray();
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Node ids outside 10 bits are rejected")
+    void testInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new TsidGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TsidGenerator(TsidGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    @DisplayName("A missing node id fails instead of falling back to a random one")
+    void testMissingNodeId() {
+        assertThrows(IllegalStateException.class, () -> TsidIdentifierGenerator.parseNodeId(null));
+        assertThrows(IllegalStateException.class, () -> TsidIdentifierGenerator.parseNodeId(" "));
+        assertEquals(7, TsidIdentifierGenerator.parseNodeId("7"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.abc.bank.accountmanagement.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateOfBirthValidatorTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Amsterdam");
+
+    private final DateOfBirthValidator validator = new DateOfBirthValidator(clockAt("2024-06-15T12:00:00Z"));
+
+    @Test
+    @DisplayName("Past dates in yyyy-MM-dd are valid")
+    public void testPastDates() {
+        assertTrue(validator.isValid("1990-01-01", null));
+        assertTrue(validator.isValid("2000-02-29", null));
+        assertTrue(validator.isValid("0001-01-01", null));
+        assertTrue(validator.isValid("2024-06-14", null));
+    }
+
+    @Test
+    @DisplayName("Today and future dates are invalid")
+    public void testTodayAndFuture() {
+        assertFalse(validator.isValid("2024-06-15", null));
+        assertFalse(validator.isValid("2024-06-16", null));
+        assertFalse(validator.isValid("9999-12-31", null));
+    }
+
+    @Test
+    @DisplayName("Malformed and out-of-range dates are rejected without throwing")
+    public void testMalformedDates() {
+        for (String value : new String[]{null, "", "   ", "1990-1-01", "1990/01/01", "19900101", "1990-01-01 ",
+                "199a-01-01", "1990-0a-01", "+990-01-01", "1990-00-10", "1990-13-01", "1990-01-00", "1990-01-32",
+                "1990-04-31", "1900-02-29", "2023-02-29", "0000-01-01"}) {
+            assertFalse(validator.isValid(value, null), value);
+        }
+    }
+
+    @Test
+    @DisplayName("Agrees with LocalDate on every day of a leap-year cycle")
+    public void testAgreesWithLocalDate() {
+        DateOfBirthValidator validator = new DateOfBirthValidator(clockAt("2100-01-01T12:00:00Z"));
+        for (LocalDate date = LocalDate.of(1896, 1, 1); date.getYear() < 2101; date = date.plusDays(1)) {
+            assertEquals(date.isBefore(LocalDate.of(2100, 1, 1)), validator.isValid(date.toString(), null),
+                    date.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("The cached date moves forward at local midnight")
+    public void testCachedDateRollsOverAtMidnight() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-06-15T21:59:59Z"));
+        DateOfBirthValidator validator = new DateOfBirthValidator(clock);
+
+        assertFalse(validator.isValid("2024-06-15", null));
+
+        clock.advance(Duration.ofSeconds(1)); // 00:00 on 16 June in Amsterdam
+        assertTrue(validator.isValid("2024-06-15", null));
+        assertFalse(validator.isValid("2024-06-16", null));
+    }
+
+    private static Clock clockAt(String instant) {
+        return Clock.fixed(Instant.parse(instant), ZONE);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}